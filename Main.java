@@ -3,11 +3,12 @@ import gym.customers.*;
 import gym.management.*;
 import gym.management.Sessions.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
 public class Main {
-    public static void main(String[] args) throws InstructorNotQualifiedException, DuplicateClientException, InvalidAgeException, ClientNotRegisteredException {
+    public static void main(String[] args) throws InstructorNotQualifiedException, DuplicateClientException, InvalidAgeException, ClientNotRegisteredException, IOException {
         Person p1 = new Person("David", 500, Gender.Male, "20-02-1978");
         Person p2 = new Person("Nofar", 1200, Gender.Female, "03-07-1998");
         Person p3 = new Person("Maayan", 200, Gender.Female, "21-12-2005");
@@ -124,7 +125,7 @@ public class Main {
 
         System.out.println("\n---Gym information---");
 
-        System.out.print(gym);
+        gym.writeReport(System.out);
     }
 
 
@@ -0,0 +1,39 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the gym benchmarks once per requested thread count and writes each run's results as JSON,
+ * so that a change can be compared against a baseline run (e.g. with JMH Visualizer).
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar benchmarks.GymBenchmarkRunner [threadCounts] [benchmarkRegex] [resultPrefix]
+ * java -cp target/benchmarks.jar benchmarks.GymBenchmarkRunner 1,4,16 GymBenchmark baseline
+ * </pre>
+ *
+ * <p>Defaults: thread counts {@code 1,4}, all benchmarks, and the result prefix {@code results},
+ * producing {@code results-1threads.json}, {@code results-4threads.json} and so on.</p>
+ */
+public class GymBenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException {
+		String[] threadCounts = (args.length > 0 ? args[0] : "1,4").split(",");
+		String include = args.length > 1 ? args[1] : ".*";
+		String resultPrefix = args.length > 2 ? args[2] : "results";
+
+		for (String threadCount : threadCounts) {
+			int threads = Integer.parseInt(threadCount.strip());
+			Options options = new OptionsBuilder()
+					.include(include)
+					.threads(threads)
+					.resultFormat(ResultFormatType.JSON)
+					.result(String.format("%s-%dthreads.json", resultPrefix, threads))
+					.build();
+			new Runner(options).run();
+		}
+	}
+}
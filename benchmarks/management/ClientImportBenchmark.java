@@ -0,0 +1,56 @@
+package benchmarks.management;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.ClientImportReport;
+import gym.management.Gym;
+import gym.management.Secretary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to register a partner gym's members into an empty gym, one call per person versus
+ * a single {@link Secretary#registerClients} bulk import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ClientImportBenchmark {
+	@Param({"100000"})
+	private int personCount;
+
+	private List<Person> persons;
+	private Secretary secretary;
+
+	@Setup(Level.Trial)
+	public void createPersons() {
+		persons = new ArrayList<>(personCount);
+		for (int i = 0; i < personCount; i++) {
+			persons.add(new Person("Member" + i, 1000, i % 2 == 0 ? Gender.Male : Gender.Female, "01-01-1990"));
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void createGym() {
+		secretary = new Secretary(new Person("Secretary", 0, Gender.Female, "01-01-1980"), 5000, new Gym());
+	}
+
+	@Benchmark
+	public int registerOneByOne() throws Exception {
+		for (Person person : persons) {
+			secretary.registerClient(person);
+		}
+		return persons.size();
+	}
+
+	@Benchmark
+	public ClientImportReport registerInBulk() {
+		return secretary.registerClients(persons);
+	}
+}
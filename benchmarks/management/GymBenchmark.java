@@ -0,0 +1,113 @@
+package benchmarks.management;
+
+import gym.customers.Client;
+import gym.customers.Person;
+import gym.management.Strategy.BankManager;
+import gym.management.Strategy.DateUtils;
+import gym.management.Sessions.Session;
+import gym.management.Strategy.Validation.ForumValidator;
+import gym.management.Strategy.Validation.CompiledValidator;
+import gym.management.Strategy.Validation.RegistrationContext;
+import gym.management.Strategy.Validation.ValidationMode;
+import gym.management.Strategy.Validation.ValidationRuleSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the registration, payment and reporting hot paths on a populated gym
+ * (see {@link GymFixture} for the client and session count parameters).
+ *
+ * <p>Every operation leaves the gym as it found it, so the size parameters hold for the whole run.
+ * Use {@link benchmarks.GymBenchmarkRunner} to sweep thread counts and record results for
+ * comparison against a baseline.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class GymBenchmark {
+	private BankManager bankManager;
+	private ValidationRuleSet<RegistrationContext> registrationRules;
+	private CompiledValidator<RegistrationContext> collectAllValidator;
+	private CompiledValidator<RegistrationContext> failFastValidator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		bankManager = BankManager.getInstance();
+
+		// The same rules the secretary checks before registering a client to a lesson
+		registrationRules = new ValidationRuleSet<>();
+		registrationRules.addRule(context -> !context.getSession().isFull(), "No available spots for session", 1);
+		registrationRules.addRule(context -> DateUtils.isDateInFuture(context.getSession().getStartTime()),
+				"Session is not in the future", 1);
+		registrationRules.addRule(context -> ForumValidator.clientMatchesSeniority(context.getSession(), context.getClient()),
+				"Client doesn't meet the age requirements for this session (Seniors)", 2);
+		registrationRules.addRule(context -> ForumValidator.clientMatchesGender(context.getSession(), context.getClient()),
+				"Client's gender doesn't match the session's gender requirements", 1);
+		registrationRules.addRule(context -> bankManager.isValidPayment(context.getClient().getId(),
+				context.getSession().getType().getPrice()), "Client doesn't have enough balance", 4);
+		collectAllValidator = registrationRules.compile(ValidationMode.CollectAll);
+		failFastValidator = registrationRules.compile(ValidationMode.FailFast);
+	}
+
+	@Benchmark
+	public Client registerAndUnregisterClient(GymFixture fixture) throws Exception {
+		Person newcomer = fixture.nextNewcomer();
+		Client client = fixture.secretary.registerClient(newcomer);
+		fixture.secretary.unregisterClient(client);
+		return client;
+	}
+
+	@Benchmark
+	public boolean registerClientToLesson(GymFixture fixture) throws Exception {
+		Client client = fixture.nextClient();
+		Session session = fixture.nextSession();
+		fixture.secretary.registerClientToLesson(client, session);
+
+		// Give the seat and the payment back so the session never fills up
+		boolean registered = session.hasClient(client);
+		if (registered) {
+			session.releaseSeat(client);
+			fixture.gym.pay(client, session.getType().getPrice());
+		}
+		return registered;
+	}
+
+	@Benchmark
+	public boolean validateRegistration(GymFixture fixture) {
+		return registrationRules.validateAll(new RegistrationContext(fixture.nextClient(), fixture.nextSession()));
+	}
+
+	@Benchmark
+	public boolean validateRegistrationCompiled(GymFixture fixture) {
+		return collectAllValidator.validate(new RegistrationContext(fixture.nextClient(), fixture.nextSession())).isValid();
+	}
+
+	@Benchmark
+	public boolean validateRegistrationFailFast(GymFixture fixture) {
+		return failFastValidator.validate(new RegistrationContext(fixture.nextClient(), fixture.nextSession())).isValid();
+	}
+
+	@Benchmark
+	public double depositAndWithdraw(GymFixture fixture) {
+		int accountId = fixture.nextClient().getId();
+		bankManager.deposit(accountId, 100);
+		bankManager.withdraw(accountId, 100);
+		return bankManager.getBalance(accountId);
+	}
+
+	@Benchmark
+	public String gymReport(GymFixture fixture) {
+		return fixture.gym.toString();
+	}
+
+	@Benchmark
+	public void gymReportStreamed(GymFixture fixture) throws IOException {
+		fixture.gym.writeReport(OutputStream.nullOutputStream());
+	}
+}
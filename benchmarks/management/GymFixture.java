@@ -0,0 +1,86 @@
+package benchmarks.management;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Instructor;
+import gym.management.Secretary;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * A populated gym shared by the gym benchmarks: {@code clientCount} registered clients,
+ * one instructor and {@code sessionCount} future Pilates sessions, two hours apart.
+ *
+ * <p>The fixture is per thread because {@code Gym} and {@code Secretary} model a single front desk;
+ * running with several threads measures how the desks scale against the shared {@code BankManager}.
+ * It is rebuilt for every iteration so that the growing action history does not carry over.</p>
+ */
+@State(Scope.Thread)
+public class GymFixture {
+	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+	private static final LocalDateTime FIRST_SESSION = LocalDateTime.of(2025, 1, 1, 6, 0);
+
+	@Param({"1000", "10000"})
+	public int clientCount;
+
+	@Param({"100", "1000"})
+	public int sessionCount;
+
+	public Gym gym;
+	public Secretary secretary;
+	public Client[] clients;
+	public Session[] sessions;
+	public Person[] newcomers;
+	private int nextClient;
+	private int nextSession;
+	private int nextNewcomer;
+
+	@Setup(Level.Iteration)
+	public void setUp() throws Exception {
+		gym = new Gym();
+		gym.setName("Benchmark");
+		secretary = new Secretary(new Person("Secretary", 0, Gender.Female, "01-01-1980"), 5000, gym);
+
+		clients = new Client[clientCount];
+		for (int i = 0; i < clientCount; i++) {
+			clients[i] = secretary.registerClient(new Person("Client" + i, 1_000_000,
+					i % 2 == 0 ? Gender.Male : Gender.Female, "01-01-1990"));
+		}
+
+		Instructor instructor = secretary.hireInstructor(new Person("Instructor", 0, Gender.Female, "01-01-1985"),
+				50, Arrays.asList(SessionType.values()));
+		sessions = new Session[sessionCount];
+		for (int i = 0; i < sessionCount; i++) {
+			String dateTime = FIRST_SESSION.plusHours(2L * i).format(DATE_TIME_FORMATTER);
+			sessions[i] = secretary.addSession(SessionType.Pilates, dateTime, ForumType.All, instructor);
+		}
+
+		newcomers = new Person[1024];
+		for (int i = 0; i < newcomers.length; i++) {
+			newcomers[i] = new Person("Newcomer" + i, 1000, Gender.Male, "01-01-1995");
+		}
+	}
+
+	public Client nextClient() {
+		nextClient = nextClient + 1 == clients.length ? 0 : nextClient + 1;
+		return clients[nextClient];
+	}
+
+	public Session nextSession() {
+		nextSession = nextSession + 1 == sessions.length ? 0 : nextSession + 1;
+		return sessions[nextSession];
+	}
+
+	public Person nextNewcomer() {
+		nextNewcomer = nextNewcomer + 1 == newcomers.length ? 0 : nextNewcomer + 1;
+		return newcomers[nextNewcomer];
+	}
+}
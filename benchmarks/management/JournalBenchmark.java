@@ -0,0 +1,68 @@
+package benchmarks.management;
+
+import gym.customers.Client;
+import gym.management.GymJournal;
+import gym.management.Sessions.Session;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of journaling on the lesson registration hot path: the same booking and refund as
+ * {@link GymBenchmark#registerClientToLesson}, with and without a {@link GymJournal}.
+ *
+ * <p>A journaled booking appends the seat and both balance changes to the memory-mapped journal;
+ * the refund appends two more balance changes.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class JournalBenchmark {
+
+	/**
+	 * The {@link GymFixture} gym, journaled into a temporary file when {@code journaled} is set.
+	 */
+	public static class JournaledGymFixture extends GymFixture {
+		@Param({"false", "true"})
+		public boolean journaled;
+
+		private Path directory;
+
+		@Setup(Level.Iteration)
+		public void enableJournal() throws IOException {
+			if (journaled) {
+				directory = Files.createTempDirectory("gym-journal");
+				gym.enableJournal(directory.resolve("gym.journal"));
+			}
+		}
+
+		@TearDown(Level.Iteration)
+		public void closeJournal() throws IOException {
+			if (journaled) {
+				gym.getJournal().close();
+				Files.delete(gym.getJournal().getFile());
+				Files.delete(directory);
+			}
+		}
+	}
+
+	@Benchmark
+	public boolean registerClientToLesson(JournaledGymFixture fixture) throws Exception {
+		Client client = fixture.nextClient();
+		Session session = fixture.nextSession();
+		fixture.secretary.registerClientToLesson(client, session);
+
+		// Give the seat and the payment back so the session never fills up
+		boolean registered = session.hasClient(client);
+		if (registered) {
+			session.releaseSeat(client);
+			fixture.gym.pay(client, session.getType().getPrice());
+		}
+		return registered;
+	}
+}
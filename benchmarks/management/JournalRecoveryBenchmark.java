@@ -0,0 +1,96 @@
+package benchmarks.management;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Instructor;
+import gym.management.Secretary;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to rebuild a gym with {@link Gym#recover(Path)} from a journal of {@code eventCount} records.
+ *
+ * <p>The journal holds 10000 clients and 100 sessions, followed by a stream of deposits and
+ * withdrawals (the most common record) with a session notification every 1000 records.
+ * Checkpoints are disabled, so every record is replayed.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-Dgym.journal.checkpointInterval=" + Long.MAX_VALUE})
+public class JournalRecoveryBenchmark {
+	private static final int CLIENT_COUNT = 10_000;
+	private static final int SESSION_COUNT = 100;
+
+	@Param({"1000000", "10000000"})
+	private int eventCount;
+
+	private Path directory;
+	private Path journalFile;
+	private Gym recovered;
+
+	@Setup(Level.Trial)
+	public void writeJournal() throws Exception {
+		directory = Files.createTempDirectory("gym-journal");
+		journalFile = directory.resolve("gym.journal");
+
+		Gym gym = new Gym();
+		gym.enableJournal(journalFile);
+		gym.setName("Benchmark");
+		gym.setSecretary(new Person("Secretary", 0, Gender.Female, "01-01-1980"), 5000);
+		Secretary secretary = gym.getSecretary();
+		Client[] clients = new Client[CLIENT_COUNT];
+		for (int i = 0; i < CLIENT_COUNT; i++) {
+			clients[i] = secretary.registerClient(new Person("Client" + i, 1_000_000,
+					i % 2 == 0 ? Gender.Male : Gender.Female, "01-01-1990"));
+		}
+		Instructor instructor = secretary.hireInstructor(new Person("Instructor", 0, Gender.Female, "01-01-1985"),
+				50, Arrays.asList(SessionType.values()));
+		Session[] sessions = new Session[SESSION_COUNT];
+		for (int i = 0; i < SESSION_COUNT; i++) {
+			sessions[i] = secretary.addSession(SessionType.Ninja, String.format("%02d-02-2025 %02d:00", i % 28 + 1, i % 24),
+					ForumType.All, instructor);
+			secretary.registerClientToLesson(clients[i], sessions[i]);
+		}
+
+		for (int i = 0; i < eventCount; i++) {
+			if (i % 1000 == 0) {
+				secretary.notify(sessions[i / 1000 % SESSION_COUNT], "Update " + i);
+			} else if (i % 2 == 0) {
+				clients[i % CLIENT_COUNT].deposit(10);
+			} else {
+				clients[i % CLIENT_COUNT].withdraw(10);
+			}
+		}
+		gym.getJournal().close();
+	}
+
+	@TearDown(Level.Invocation)
+	public void closeRecoveredJournal() throws IOException {
+		recovered.getJournal().close();
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteJournal() throws IOException {
+		Files.delete(journalFile);
+		Files.delete(directory);
+	}
+
+	@Benchmark
+	public Gym recover() throws IOException {
+		recovered = Gym.recover(journalFile);
+		return recovered;
+	}
+}
@@ -0,0 +1,60 @@
+package benchmarks.management;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Instructor;
+import gym.management.Secretary;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.SessionType;
+import gym.management.Strategy.PayrollSummary;
+import gym.management.Strategy.SalaryManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to pay a gym's staff of {@code instructorCount} instructors, each with one session, and a secretary.
+ *
+ * <p>{@code payrollRun} is the batched payroll engine; {@code perEmployeeTransfers} pays every
+ * employee with a separate transfer, as the payroll used to.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class PayrollBenchmark {
+	@Param({"10000"})
+	private int instructorCount;
+
+	private Gym gym;
+	private Secretary secretary;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		gym = new Gym();
+		gym.setName("Payroll");
+		secretary = new Secretary(new Person("Secretary", 0, Gender.Female, "01-01-1980"), 5000, gym);
+		for (int i = 0; i < instructorCount; i++) {
+			Instructor instructor = secretary.hireInstructor(new Person("Instructor" + i, 0, Gender.Male, "01-01-1985"),
+					50 + i % 50, List.of(SessionType.Pilates));
+			secretary.addSession(SessionType.Pilates, "01-02-2025 10:00", ForumType.All, instructor);
+		}
+	}
+
+	@Benchmark
+	public PayrollSummary payrollRun() {
+		return SalaryManager.runPayroll(gym, secretary, gym.getInstructors());
+	}
+
+	@Benchmark
+	public void perEmployeeTransfers() {
+		gym.pay(secretary, secretary.getSalary());
+		for (Instructor instructor : gym.getInstructors()) {
+			gym.pay(instructor, SalaryManager.calculatePay(instructor));
+		}
+	}
+}
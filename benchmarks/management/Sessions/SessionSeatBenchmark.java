@@ -0,0 +1,63 @@
+package benchmarks.management.Sessions;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Instructor;
+import gym.management.Sessions.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures seat allocation when 64 threads race for the same Ninja session (capacity 5),
+ * as happens at the moment booking opens for a popular class.
+ *
+ * <p>Each operation tries to reserve a seat for the thread's own client and, if it got one,
+ * immediately releases it again, so the session keeps flipping between full and not full.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class SessionSeatBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class SharedSession {
+		private Session session;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			Instructor instructor = new Instructor(new Person("Instructor", 0, Gender.Female, "01-01-1985"),
+					50, List.of(SessionType.Ninja));
+			session = new NinjaSession("14-01-2025 20:00", ForumType.All, instructor);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Booker {
+		private Client client;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			client = new Client(new Person("Booker", 0, Gender.Male, "01-01-1990"));
+		}
+	}
+
+	@Benchmark
+	public ReservationStatus reserveAndRelease(SharedSession shared, Booker booker) {
+		ReservationStatus status = shared.session.reserveSeat(booker.client);
+		if (status == ReservationStatus.Reserved) {
+			shared.session.releaseSeat(booker.client);
+		}
+		return status;
+	}
+
+	@Benchmark
+	public boolean checkFullAndMembership(SharedSession shared, Booker booker) {
+		return shared.session.isFull() || shared.session.hasClient(booker.client);
+	}
+}
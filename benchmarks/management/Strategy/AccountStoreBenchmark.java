@@ -0,0 +1,47 @@
+package benchmarks.management.Strategy;
+
+import gym.management.Strategy.AccountStore;
+import gym.management.Strategy.MapAccountStore;
+import gym.management.Strategy.PrimitiveAccountStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link AccountStore} engines on the payment path: a read-modify-write of a random
+ * existing account's balance, as done by every deposit and withdrawal.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate; the primitive store should allocate nothing.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountStoreBenchmark {
+	@Param({"primitive", "map"})
+	private String storeType;
+
+	@Param({"1000", "100000"})
+	private int accountCount;
+
+	private AccountStore store;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		store = storeType.equals("primitive") ? new PrimitiveAccountStore() : new MapAccountStore();
+		for (int id = 0; id < accountCount; id++) {
+			store.put(id, 100_000);
+		}
+	}
+
+	@Benchmark
+	public long deposit() {
+		int id = ThreadLocalRandom.current().nextInt(accountCount);
+		long balance = store.get(id) + 1;
+		store.put(id, balance);
+		return balance;
+	}
+}
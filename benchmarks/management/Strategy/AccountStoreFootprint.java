@@ -0,0 +1,45 @@
+package benchmarks.management.Strategy;
+
+import gym.management.Strategy.AccountStore;
+import gym.management.Strategy.MapAccountStore;
+import gym.management.Strategy.PrimitiveAccountStore;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures the retained heap per account of each {@link AccountStore} engine.
+ *
+ * <p>Fills a store with {@code accountCount} accounts with distinct, non-cached balances and
+ * reports the heap growth after garbage collection, divided by the number of accounts.</p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar benchmarks.management.Strategy.AccountStoreFootprint [accountCount]
+ * </pre>
+ */
+public class AccountStoreFootprint {
+
+	public static void main(String[] args) {
+		int accountCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		report("PrimitiveAccountStore", PrimitiveAccountStore::new, accountCount);
+		report("MapAccountStore", MapAccountStore::new, accountCount);
+	}
+
+	private static void report(String name, Supplier<AccountStore> storeFactory, int accountCount) {
+		long before = usedHeap();
+		AccountStore store = storeFactory.get();
+		for (int id = 0; id < accountCount; id++) {
+			store.put(id, 1_000_000L + id);
+		}
+		long after = usedHeap();
+		System.out.printf("%s: %d accounts, %.1f bytes per account%n",
+				name, store.size(), (double) (after - before) / accountCount);
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
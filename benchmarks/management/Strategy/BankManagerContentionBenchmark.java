@@ -0,0 +1,84 @@
+package benchmarks.management.Strategy;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Strategy.BankManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BankManager} throughput under concurrent traffic.
+ *
+ * <p>The same transfer workload runs with 1, 4 and all available threads; with the striped
+ * locks, throughput should grow with the thread count as long as the accounts are spread
+ * over enough stripes. {@code accountCount} controls how concentrated the traffic is.</p>
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar BankManagerContentionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankManagerContentionBenchmark {
+	@Param({"16", "1024"})
+	private int accountCount;
+
+	private BankManager bankManager;
+	private int[] accountIds;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		bankManager = BankManager.getInstance();
+		accountIds = new int[accountCount];
+		for (int i = 0; i < accountCount; i++) {
+			accountIds[i] = new Person("Account" + i, 1_000_000, Gender.Male, "01-01-1990").getId();
+		}
+	}
+
+	private boolean randomTransfer() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int fromId = accountIds[random.nextInt(accountCount)];
+		int toId = accountIds[random.nextInt(accountCount)];
+		return bankManager.transfer(fromId, toId, 1);
+	}
+
+	private void randomDeposit() {
+		bankManager.deposit(accountIds[ThreadLocalRandom.current().nextInt(accountCount)], 1);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public boolean transferOneThread() {
+		return randomTransfer();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean transferFourThreads() {
+		return randomTransfer();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public boolean transferMaxThreads() {
+		return randomTransfer();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void depositOneThread() {
+		randomDeposit();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public void depositMaxThreads() {
+		randomDeposit();
+	}
+}
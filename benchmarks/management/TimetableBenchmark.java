@@ -0,0 +1,69 @@
+package benchmarks.management;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Scheduling.SessionSlot;
+import gym.management.Scheduling.Timetable;
+import gym.management.Scheduling.TimetableGenerator;
+import gym.management.Secretary;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.SessionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to plan a month of {@code slotCount} sessions for a staff of {@code instructorCount}
+ * instructors, each qualified for one to three session types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class TimetableBenchmark {
+	@Param({"300"})
+	private int instructorCount;
+
+	@Param({"5000"})
+	private int slotCount;
+
+	private TimetableGenerator generator;
+	private List<SessionSlot> demand;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Gym gym = new Gym();
+		gym.setName("Timetable");
+		Secretary secretary = new Secretary(new Person("Secretary", 0, Gender.Female, "01-01-1980"), 5000, gym);
+		SessionType[] types = SessionType.values();
+		ForumType[] forums = ForumType.values();
+		for (int i = 0; i < instructorCount; i++) {
+			List<SessionType> qualifications = new ArrayList<>();
+			for (int t = 0; t <= i % 3; t++) {
+				qualifications.add(types[(i + t) % types.length]);
+			}
+			secretary.hireInstructor(new Person("Instructor" + i, 0, Gender.Male, "01-01-1985"),
+					40 + i * 37 % 60, qualifications);
+		}
+		generator = new TimetableGenerator(gym);
+
+		// Spread over 28 days, starting every half hour from 06:00 to 21:30
+		demand = new ArrayList<>(slotCount);
+		for (int i = 0; i < slotCount; i++) {
+			int halfHour = i * 7 % 32;
+			demand.add(new SessionSlot(types[i % types.length],
+					String.format("%02d-03-2025 %02d:%02d", i % 28 + 1, 6 + halfHour / 2, halfHour % 2 * 30),
+					forums[i % forums.length]));
+		}
+	}
+
+	@Benchmark
+	public Timetable generate() {
+		return generator.generate(demand);
+	}
+}
@@ -0,0 +1,71 @@
+package benchmarks.notification;
+
+import gym.notification.AsyncNotificationDispatcher;
+import gym.notification.NotificationDispatcher;
+import gym.notification.NotificationObserver;
+import gym.notification.SynchronousNotificationDispatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long a gym-wide broadcast to {@code observerCount} observers blocks the sender, with the
+ * synchronous dispatcher and with four delivery workers.
+ *
+ * <p>The observers only count their messages, so the measurement is the fan-out itself rather than
+ * growing inboxes. With the asynchronous dispatcher the sender is only blocked for partitioning the
+ * recipients, until the workers fall behind and back-pressure makes it wait for them.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class NotificationBenchmark {
+	@Param({"100000"})
+	private int observerCount;
+
+	@Param({"sync", "async"})
+	private String dispatcherType;
+
+	private List<NotificationObserver> observers;
+	private NotificationDispatcher dispatcher;
+
+	private static class CountingObserver implements NotificationObserver {
+		private long received;
+
+		@Override
+		public void update(String message) {
+			received++;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		observers = new ArrayList<>(observerCount);
+		for (int i = 0; i < observerCount; i++) {
+			observers.add(new CountingObserver());
+		}
+		dispatcher = dispatcherType.equals("sync") ? new SynchronousNotificationDispatcher()
+				: new AsyncNotificationDispatcher(4, 64);
+	}
+
+	@TearDown(Level.Iteration)
+	public void flush() {
+		dispatcher.flush();
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		System.out.println(dispatcher.getMetrics());
+		dispatcher.close();
+	}
+
+	@Benchmark
+	public void broadcast() {
+		dispatcher.dispatch(observers, "Happy New Year to all our valued clients!");
+	}
+}
@@ -1,34 +1,58 @@
 package gym.customers;
 
+import gym.notification.Notification;
+import gym.notification.NotificationInbox;
 import gym.notification.NotificationObserver;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class Client extends Person implements NotificationObserver {
-	private final List<String> notifications;
+	private final NotificationInbox inbox; // Shares each message with the other clients it was sent to
 
 	public Client(Person person) {
 		super(person);
-		this.notifications = new ArrayList<>();
+		this.inbox = new NotificationInbox();
 	}
 
 	public Client(String name, double Balance, Gender gender, String birthDate) {
 		super(name, Balance, gender, birthDate);
-		this.notifications = new ArrayList<>();
+		this.inbox = new NotificationInbox();
 	}
 
 	@Override
 	public void update(String message) {
-		notifications.add(message);
+		inbox.add(message);
+	}
+
+	@Override
+	public void update(Notification notification) {
+		inbox.add(notification);
 	}
 
 	public void addNotification(String message) {
-		notifications.add(message);
+		inbox.add(message);
 	}
 
+	/**
+	 * Returns the texts of the client's notifications, oldest first.
+	 *
+	 * @return a new list of the notifications in the client's inbox.
+	 */
 	public List<String> getNotifications() {
-		return new ArrayList<>(notifications);
+		return inbox.getMessages();
+	}
+
+	/**
+	 * Returns the notifications that arrived since the last call, oldest first, and marks them as read.
+	 *
+	 * @return a new list of the unread notifications.
+	 */
+	public List<String> readUnreadNotifications() {
+		return inbox.readUnread();
+	}
+
+	public NotificationInbox getInbox() {
+		return inbox;
 	}
 
 	@Override
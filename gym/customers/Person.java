@@ -1,22 +1,54 @@
 package gym.customers;
 
 import gym.management.Strategy.BankManager;
+import gym.management.Strategy.DateUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Person {
-	private static int nextID = 1111;
+	private static final AtomicInteger nextID = new AtomicInteger(1111); // Seats and accounts are keyed by ID, so IDs must stay unique across threads
 	private final int id;
 	private final BankManager bankManager;
 	private final String name;
 	private final Gender gender;
 	private final String birthDate;
+	private final LocalDate parsedBirthDate; // Parsed once, so age checks never re-parse the string
 
 	public Person(String name, double balance, Gender gender, String birthDate) {
-		this.id = nextID++;
+		this.id = nextID.getAndIncrement();
 		this.name = name;
 		bankManager = BankManager.getInstance();
 		bankManager.createAccount(id, balance);
 		this.gender = gender;
 		this.birthDate = birthDate;
+		this.parsedBirthDate = DateUtils.parseDate(birthDate);
+	}
+
+	private Person(int id, String name, Gender gender, String birthDate) {
+		this.id = id;
+		this.name = name;
+		bankManager = BankManager.getInstance();
+		this.gender = gender;
+		this.birthDate = birthDate;
+		this.parsedBirthDate = DateUtils.parseDate(birthDate);
+		nextID.accumulateAndGet(id + 1, Math::max); // Persons created later must not reuse the restored ID
+	}
+
+	/**
+	 * Recreates a person with a known ID, e.g. when restoring a gym from its journal.
+	 *
+	 * <p>No bank account is created; the caller restores the person's balance separately.
+	 * Persons created afterwards are numbered after the restored ID.</p>
+	 *
+	 * @param id        the person's ID.
+	 * @param name      the person's name.
+	 * @param gender    the person's gender.
+	 * @param birthDate the person's birthdate in "dd-MM-yyyy" format.
+	 * @return the restored person.
+	 */
+	public static Person restore(int id, String name, Gender gender, String birthDate) {
+		return new Person(id, name, gender, birthDate);
 	}
 
 	public Person(Person person) {
@@ -25,6 +57,7 @@ public class Person {
 		bankManager = BankManager.getInstance();
 		this.gender = person.getGender();
 		this.birthDate = person.getBirthDate();
+		this.parsedBirthDate = person.getParsedBirthDate();
 	}
 
 	public String getName() {
@@ -51,10 +84,39 @@ public class Person {
 		return birthDate;
 	}
 
+	public LocalDate getParsedBirthDate() {
+		return parsedBirthDate;
+	}
+
+	/**
+	 * Returns the person's age, computed from the pre-parsed birthdate.
+	 *
+	 * @return the age of the person as an integer.
+	 * @see DateUtils#getAge(LocalDate)
+	 */
+	public int getAge() {
+		return DateUtils.getAge(parsedBirthDate);
+	}
+
 	public int getId() {
 		return id;
 	}
 
+	/**
+	 * Checks whether the given person describes the same individual as this one.
+	 *
+	 * <p>Only the immutable identity fields (ID, name, gender and birthdate) are compared.
+	 * Unlike {@link #equals(Object)}, the account balance is not consulted, so the result is
+	 * stable across deposits and withdrawals and does not require a {@code BankManager} lookup.</p>
+	 *
+	 * @param other the person to compare against.
+	 * @return {@code true} if both objects describe the same individual, {@code false} otherwise.
+	 */
+	public boolean hasSameIdentity(Person other) {
+		return other != null && id == other.id && name.equals(other.name) && gender == other.gender &&
+				birthDate.equals(other.birthDate);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -66,8 +128,7 @@ public class Person {
 		}
 
 		Person other = (Person) obj;
-		return id == other.id && name.equals(other.name) && gender == other.gender && birthDate.equals(other.birthDate) &&
-				Double.compare(getBalance(), other.getBalance()) == 0;
+		return hasSameIdentity(other) && Double.compare(getBalance(), other.getBalance()) == 0;
 	}
 
 	@Override
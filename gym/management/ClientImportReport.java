@@ -0,0 +1,63 @@
+package gym.management;
+
+import gym.customers.Client;
+import gym.customers.Person;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a bulk client import, as returned by {@link Secretary#registerClients}.
+ *
+ * <p>Holds one {@link Outcome} per imported person, in the order the persons were given,
+ * and the clients that were registered.</p>
+ */
+public class ClientImportReport {
+	/**
+	 * What happened to a single person in the import.
+	 */
+	public enum Outcome {
+		Registered, Underage, Duplicate
+	}
+
+	private final List<Person> persons;
+	private final List<Outcome> outcomes;
+	private final List<Client> registeredClients;
+
+	ClientImportReport(List<Person> persons, List<Outcome> outcomes, List<Client> registeredClients) {
+		this.persons = Collections.unmodifiableList(persons);
+		this.outcomes = Collections.unmodifiableList(outcomes);
+		this.registeredClients = Collections.unmodifiableList(registeredClients);
+	}
+
+	public List<Person> getPersons() {
+		return persons;
+	}
+
+	/**
+	 * @return the outcome for each person, at the same index as in {@link #getPersons()}.
+	 */
+	public List<Outcome> getOutcomes() {
+		return outcomes;
+	}
+
+	public List<Client> getRegisteredClients() {
+		return registeredClients;
+	}
+
+	/**
+	 * Counts the persons that had the given outcome.
+	 *
+	 * @param outcome the outcome to count.
+	 * @return the number of persons with that outcome.
+	 */
+	public int count(Outcome outcome) {
+		int count = 0;
+		for (Outcome personOutcome : outcomes) {
+			if (personOutcome == outcome) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -1,34 +1,95 @@
 package gym.management;
 
 import gym.customers.*;
+import gym.management.History.ActionEvent;
+import gym.management.History.ActionLog;
 import gym.management.Sessions.*;
 import gym.management.Strategy.BankManager;
-import gym.management.Strategy.DateUtils;
+import gym.management.Strategy.PostingListener;
+import gym.notification.AsyncNotificationDispatcher;
+import gym.notification.NotificationDispatcher;
+import gym.notification.SynchronousNotificationDispatcher;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Gym {
+	private static final int DEFAULT_HISTORY_CAPACITY = 100_000;
+	private static final int DEFAULT_NOTIFICATION_QUEUE_CAPACITY = 1024;
 	private static Gym instance = null;
 	private String name;
 	private Secretary secretary;
 	private final BankManager bankManager;
-	private final List<Client> clients;
+	private final Map<Integer, Client> clients; // Keyed by client ID, kept in registration order
 	private final List<Instructor> instructors;
+	private final Map<SessionType, List<Instructor>> instructorsByQualification; // In hiring order
 	private final List<Session> sessions;
-	private final List<String> actionHistory;
+	private final Map<SessionKey, Session> sessionsByKey; // Finds duplicate sessions without scanning
+	private final SessionCalendar sessionCalendar;
+	private final ActionLog actionLog;
+	// Read-only live views handed out by the getters, created once so reads never allocate
+	private final Collection<Client> clientsView;
+	private final List<Instructor> instructorsView;
+	private final List<Session> sessionsView;
 	private final int id;
+	private GymJournal journal; // Null unless the gym is journaled
+	private NotificationDispatcher notificationDispatcher;
 
 	public Gym() {
-		this.clients = new ArrayList<>();
+		this(BankManager.getInstance().uniqueIdGenerator());
+	}
+
+	// Creates a gym whose account has a known ID, e.g. when it is rebuilt from its journal
+	Gym(int id) {
+		this.clients = new LinkedHashMap<>();
 		this.instructors = new ArrayList<>();
+		this.instructorsByQualification = new EnumMap<>(SessionType.class);
+		for (SessionType type : SessionType.values()) {
+			instructorsByQualification.put(type, new ArrayList<>());
+		}
 		this.sessions = new ArrayList<>();
-		this.actionHistory = new ArrayList<>();
+		this.sessionsByKey = new HashMap<>();
+		this.sessionCalendar = new SessionCalendar();
+		String historyDirectory = System.getProperty("gym.history.dir");
+		this.actionLog = new ActionLog(Integer.getInteger("gym.history.capacity", DEFAULT_HISTORY_CAPACITY),
+				historyDirectory == null ? null : Path.of(historyDirectory));
+		this.clientsView = Collections.unmodifiableCollection(clients.values());
+		this.instructorsView = Collections.unmodifiableList(instructors);
+		this.sessionsView = Collections.unmodifiableList(sessions);
+		this.notificationDispatcher = createNotificationDispatcher();
 		this.bankManager = BankManager.getInstance();
-		id = bankManager.uniqueIdGenerator();
+		this.id = id;
+		bankManager.reserveId(id);
 		bankManager.createAccount(id, 0);
 	}
 
+	// Synchronous unless -Dgym.notification.workers asks for a worker pool
+	private static NotificationDispatcher createNotificationDispatcher() {
+		int workers = Integer.getInteger("gym.notification.workers", 0);
+		if (workers == 0) {
+			return new SynchronousNotificationDispatcher();
+		}
+		return new AsyncNotificationDispatcher(workers,
+				Integer.getInteger("gym.notification.queueCapacity", DEFAULT_NOTIFICATION_QUEUE_CAPACITY));
+	}
+
 	/**
 	 * Retrieves the singleton instance of the Gym. If no instance exists, a new one is created.
 	 *
@@ -41,8 +102,121 @@ public class Gym {
 		return instance;
 	}
 
+	/**
+	 * Rebuilds a gym from its journal after a restart or crash, and keeps journaling it into the same file.
+	 *
+	 * <p>Clients, staff, sessions, rosters, notifications and balances are restored with their original IDs;
+	 * the action history starts empty. If the file does not exist, a new, empty gym is journaled into it.</p>
+	 *
+	 * @param journalFile the journal file.
+	 * @return the recovered gym.
+	 * @throws IOException if the journal cannot be read.
+	 * @see GymJournal
+	 */
+	public static Gym recover(Path journalFile) throws IOException {
+		if (Files.notExists(journalFile)) {
+			Gym gym = new Gym();
+			gym.enableJournal(journalFile);
+			return gym;
+		}
+		return GymJournal.recover(journalFile);
+	}
+
+	/**
+	 * Starts journaling every change to the gym into the given file, so that it can be rebuilt with
+	 * {@link #recover(Path)}. The journal starts with a checkpoint of the gym's current state and replaces
+	 * any existing journal in the file.
+	 *
+	 * @param journalFile the journal file.
+	 * @throws IOException if the journal cannot be written.
+	 */
+	public void enableJournal(Path journalFile) throws IOException {
+		if (journal != null) {
+			throw new IllegalStateException("The gym is already journaled to " + journal.getFile());
+		}
+		journal = GymJournal.start(this, journalFile);
+	}
+
+	/**
+	 * Saves a point-in-time snapshot of the gym to a file, replacing the file if it exists.
+	 * The gym must not be changed while the snapshot is written.
+	 *
+	 * @param snapshotFile the file to write.
+	 * @throws IOException if the file cannot be written.
+	 * @see GymSnapshot
+	 */
+	public void saveSnapshot(Path snapshotFile) throws IOException {
+		try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			GymSnapshot.save(this, channel);
+		}
+	}
+
+	/**
+	 * Loads a gym from a snapshot file written by {@link #saveSnapshot(Path)}, e.g. on another host.
+	 *
+	 * @param snapshotFile the file to read.
+	 * @return the loaded gym, a new instance independent of the singleton.
+	 * @throws IOException if the file cannot be read or is not a supported snapshot.
+	 */
+	public static Gym loadSnapshot(Path snapshotFile) throws IOException {
+		try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+			return GymSnapshot.load(channel);
+		}
+	}
+
+	/**
+	 * Returns the dispatcher that delivers the secretary's notifications to clients.
+	 *
+	 * <p>By default notifications are delivered on the secretary's thread. Setting
+	 * {@code -Dgym.notification.workers} to a positive number delivers them on that many worker threads
+	 * instead, with at most {@code -Dgym.notification.queueCapacity} batches (default 1024) queued per
+	 * worker; call {@link NotificationDispatcher#flush()} before reading the inboxes.</p>
+	 *
+	 * @return the gym's notification dispatcher.
+	 */
+	public NotificationDispatcher getNotificationDispatcher() {
+		return notificationDispatcher;
+	}
+
+	/**
+	 * Replaces the gym's notification dispatcher. The previous dispatcher delivers its outstanding
+	 * messages and is closed.
+	 *
+	 * @param notificationDispatcher the new dispatcher.
+	 */
+	public void setNotificationDispatcher(NotificationDispatcher notificationDispatcher) {
+		NotificationDispatcher previous = this.notificationDispatcher;
+		this.notificationDispatcher = notificationDispatcher;
+		previous.close();
+	}
+
+	void attachJournal(GymJournal journal) {
+		this.journal = journal;
+	}
+
+	/**
+	 * Returns the gym's journal.
+	 *
+	 * @return the journal, or {@code null} if the gym is not journaled.
+	 */
+	public GymJournal getJournal() {
+		return journal;
+	}
+
+	int getId() {
+		return id;
+	}
+
+	String getName() {
+		return name;
+	}
+
 	public void setName(String name) {
 		this.name = name;
+		if (journal != null) {
+			journal.gymNamed(name);
+		}
 	}
 
 	/**
@@ -52,11 +226,20 @@ public class Gym {
 	 * @param salary the monthly salary of the secretary.
 	 */
 	public void setSecretary(Person person, int salary) {
+		appointSecretary(person, salary);
+		actionLog.append(ActionEvent.secretaryAppointed(person));
+	}
+
+	void appointSecretary(Person person, int salary) {
+		Secretary newSecretary = new Secretary(person, salary, this);
 		if (this.secretary != null) {
+			newSecretary.takeOverObservers(this.secretary);
 			this.secretary.deactivate();  // Deactivate the previous secretary
 		}
-		this.secretary = new Secretary(person, salary, null);
-		actionHistory.add(String.format("A new secretary has started working at the gym: %s", person.getName()).strip());
+		this.secretary = newSecretary;
+		if (journal != null) {
+			journal.secretaryAppointed(newSecretary);
+		}
 	}
 
 	public Secretary getSecretary() {
@@ -64,19 +247,142 @@ public class Gym {
 	}
 
 	void addClient(Client client) {
-		clients.add(client);
+		clients.put(client.getId(), client);
+		if (journal != null) {
+			journal.clientRegistered(client);
+		}
+	}
+
+	void addClients(Collection<Client> newClients) {
+		for (Client client : newClients) {
+			clients.put(client.getId(), client);
+			if (journal != null) {
+				journal.clientRegistered(client);
+			}
+		}
 	}
 
 	void removeClient(Client client) {
-		clients.remove(client);
+		clients.remove(client.getId());
+		if (journal != null) {
+			journal.clientUnregistered(client);
+		}
+	}
+
+	/**
+	 * Checks whether the given client is registered with the gym.
+	 *
+	 * <p>The lookup is a single hash probe by client ID followed by an identity check
+	 * that ignores the (mutable) account balance.</p>
+	 *
+	 * @param client the client to look up.
+	 * @return {@code true} if the client is registered, {@code false} otherwise.
+	 */
+	public boolean containsClient(Client client) {
+		Client registered = clients.get(client.getId());
+		return registered != null && registered.hasSameIdentity(client);
+	}
+
+	/**
+	 * Finds a registered client by their ID.
+	 *
+	 * @param clientId the ID of the client.
+	 * @return the registered {@code Client}, or {@code null} if no client has that ID.
+	 */
+	public Client findClient(int clientId) {
+		return clients.get(clientId);
 	}
 
 	void addInstructor(Instructor instructor) {
 		instructors.add(instructor);
+		for (SessionType type : instructor.getQualifications()) {
+			instructorsByQualification.get(type).add(instructor);
+		}
+		if (journal != null) {
+			journal.instructorHired(instructor);
+		}
+	}
+
+	/**
+	 * Checks whether the gym already has a session with the given key, i.e. of the same type, at the
+	 * same time, with the same instructor and forum.
+	 *
+	 * @param key the key to look up.
+	 * @return {@code true} if such a session exists, {@code false} otherwise.
+	 */
+	public boolean containsSession(SessionKey key) {
+		return sessionsByKey.containsKey(key);
+	}
+
+	/**
+	 * Finds a session of the given instructor that would overlap a new session.
+	 *
+	 * @param instructor the instructor of the new session.
+	 * @param start      the start time of the new session.
+	 * @param type       the type of the new session, which sets its duration.
+	 * @return an overlapping session, or {@code null} if the instructor is free for the whole session.
+	 */
+	public Session findOverlappingSession(Instructor instructor, LocalDateTime start, SessionType type) {
+		return sessionCalendar.findOverlapping(instructor, start, type.getDuration());
+	}
+
+	/**
+	 * Scans the whole timetable for sessions whose instructor is booked into another session at the
+	 * same time, in O(n log n) for n sessions.
+	 *
+	 * <p>Each conflicting session is reported once, paired with the earlier session of the same
+	 * instructor that is still running when it starts.</p>
+	 *
+	 * @return the conflicts found, grouped by instructor and in start order for each instructor.
+	 */
+	public List<SessionConflict> findScheduleConflicts() {
+		return sessionCalendar.findConflicts();
+	}
+
+	Session getSession(SessionKey key) {
+		return sessionsByKey.get(key);
 	}
 
 	void addSession(Session session) {
 		sessions.add(session);
+		sessionsByKey.put(session.getKey(), session);
+		sessionCalendar.add(session);
+		if (journal != null) {
+			journal.sessionAdded(session);
+		}
+	}
+
+	/**
+	 * Returns the sessions taking place on the given day, in the order they were added.
+	 *
+	 * @param day the calendar day.
+	 * @return an unmodifiable list of the sessions on that day (empty if there are none).
+	 */
+	public List<Session> getSessionsOn(LocalDate day) {
+		return sessionCalendar.getSessionsOn(day);
+	}
+
+	/**
+	 * Returns the sessions taking place between two days (both inclusive), ordered by day.
+	 *
+	 * @param from the first day of the range.
+	 * @param to   the last day of the range.
+	 * @return a list of the sessions in the range.
+	 */
+	public List<Session> getSessionsBetween(LocalDate from, LocalDate to) {
+		return sessionCalendar.getSessionsBetween(from, to);
+	}
+
+	/**
+	 * Returns the sessions conducted by the given instructor between two days (both inclusive), ordered by day.
+	 *
+	 * @param instructor the instructor conducting the sessions.
+	 * @param from       the first day of the range.
+	 * @param to         the last day of the range.
+	 * @return a list of the instructor's sessions in the range.
+	 */
+	public List<Session> getSessionsBetween(Instructor instructor, LocalDate from, LocalDate to) {
+		return sessionCalendar.getSessionsBetween(instructor, from, to);
 	}
 
 	public void deposit(double amount) {
@@ -87,80 +393,286 @@ public class Gym {
 		bankManager.withdraw(id, amount);
 	}
 
-	public void addToHistory(String action) {
-		actionHistory.add(action);
+	/**
+	 * Atomically moves a payment from the payer's account into the gym's account.
+	 *
+	 * @param payer  the person paying the gym.
+	 * @param amount the amount to pay.
+	 * @return {@code true} if the payment was made, {@code false} if the payer lacks the funds.
+	 */
+	public boolean collectPayment(Person payer, double amount) {
+		return bankManager.transfer(payer.getId(), id, amount);
 	}
 
-	public List<String> getActionHistory() {
-		return new ArrayList<>(actionHistory);
+	/**
+	 * Books a seat in a session for a client and charges the session's price, as a single operation.
+	 *
+	 * <p>The seat is claimed first, so capacity can never be exceeded, and the client is then charged
+	 * through an atomic transfer into the gym's account. If the charge fails the seat is released
+	 * again, so a client is never seated without paying nor charged without a seat, even when many
+	 * threads book the same session at once.</p>
+	 *
+	 * <p>If the gym is journaled, the seat and both new balances are journaled as one record, written
+	 * with the transfer, so a recovered gym never holds the charge without the seat either.</p>
+	 *
+	 * @param client  the client booking the seat.
+	 * @param session the session to book.
+	 * @return {@code Reserved} on success, otherwise the reason the booking was rejected.
+	 */
+	public ReservationStatus reserveSeatAndCharge(Client client, Session session) {
+		GymJournal gymJournal = journal;
+		if (gymJournal == null) {
+			return reserveSeatAndCharge(client, session, null);
+		}
+		return gymJournal.runOperation(() -> reserveSeatAndCharge(client, session,
+				(accountIds, balances, count) -> gymJournal.seatReserved(session, client, accountIds, balances, count)));
 	}
 
-	public ArrayList<Client> getClients() {
-		return new ArrayList<>(clients);
+	private ReservationStatus reserveSeatAndCharge(Client client, Session session, PostingListener recorder) {
+		ReservationStatus status = session.reserveSeat(client);
+		if (status != ReservationStatus.Reserved) {
+			return status;
+		}
+		if (!bankManager.transfer(client.getId(), id, session.getType().getPrice(), recorder)) {
+			session.releaseSeat(client);
+			return ReservationStatus.InsufficientBalance;
+		}
+		return ReservationStatus.Reserved;
 	}
 
-	public List<Instructor> getInstructors() {
-		return new ArrayList<>(instructors);
+	/**
+	 * Releases a client's seat in a session and refunds the session's price, as a single operation.
+	 * If the gym is journaled, the release and both new balances are journaled as one record.
+	 *
+	 * @param client  the client giving up the seat.
+	 * @param session the session to leave.
+	 * @return {@code true} if the client held a seat and was refunded, {@code false} if they held none.
+	 */
+	public boolean releaseSeatAndRefund(Client client, Session session) {
+		GymJournal gymJournal = journal;
+		if (gymJournal == null) {
+			return releaseSeatAndRefund(client, session, null);
+		}
+		return gymJournal.runOperation(() -> releaseSeatAndRefund(client, session,
+				(accountIds, balances, count) -> gymJournal.seatReleased(session, client, accountIds, balances, count)));
 	}
 
-	public List<Session> getSessions() {
-		return new ArrayList<>(sessions);
+	private boolean releaseSeatAndRefund(Client client, Session session, PostingListener recorder) {
+		if (!session.releaseSeat(client)) {
+			return false;
+		}
+		bankManager.transferWithOverdraft(id, client.getId(), session.getType().getPrice(), recorder);
+		return true;
+	}
+
+	// Notifications only reach the journal through the gym, which knows whether it is journaled
+	void recordSessionNotification(Session session, String message) {
+		if (journal != null) {
+			journal.sessionNotified(session, message);
+		}
+	}
+
+	void recordClientNotification(Client client, String message) {
+		if (journal != null) {
+			journal.clientNotified(client, message);
+		}
+	}
+
+	void recordDateNotification(LocalDate day, String message) {
+		if (journal != null) {
+			journal.dateNotified(day, message);
+		}
 	}
 
 	/**
-	 * Provides a string representation of the gym's current state, including details about
-	 * its name, balance, secretary, clients, instructors, and sessions.
+	 * Marks the instructors' sessions up to and including a pay period as paid, once a payroll has paid them.
 	 *
-	 * @return a formatted string representation of the gym.
+	 * @param instructors  the instructors who were paid.
+	 * @param paidSessions the number of sessions each instructor was paid for, in the same order.
+	 * @param through      the last pay period that was paid, or {@code null} for every period.
 	 */
-	@Override
-	public String toString() {
-		StringBuilder sb = new StringBuilder();
-
-		// Gym basic info
-		sb.append(String.format("Gym Name: %s\n", name));
-		if (secretary != null) {
-			sb.append(String.format("Gym Secretary: ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f | Role: Secretary | Salary per Month: %d\n",
-					secretary.getId(), secretary.getName(), secretary.getGender(), secretary.getBirthDate(),
-					DateUtils.getAge(secretary.getBirthDate()), secretary.getBalance(), secretary.getSalary()));
+	public void settlePayroll(List<Instructor> instructors, int[] paidSessions, YearMonth through) {
+		settle(instructors, paidSessions, through);
+		if (journal != null) {
+			journal.payrollSettled(instructors, paidSessions, through, null, null, 0);
 		}
-		sb.append(String.format("Gym Balance: %.0f\n\n", bankManager.getBalance(id)));
+	}
 
-		// Clients data
-		sb.append("Clients Data:\n");
-		for (Client client : clients) {
-			sb.append(String.format("ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f\n",
-					client.getId(), client.getName(), client.getGender(), client.getBirthDate(),
-					DateUtils.getAge(client.getBirthDate()),
-					client.getBalance()));
+	private static void settle(List<Instructor> instructors, int[] paidSessions, YearMonth through) {
+		for (int i = 0; i < instructors.size(); i++) {
+			instructors.get(i).getPayAccrual().settle(through, paidSessions[i]);
 		}
-		sb.append("\n");
+	}
 
-		// Employees data
-		sb.append("Employees Data:\n");
-		for (Instructor instructor : instructors) {
-			sb.append(String.format("ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f | Role: Instructor | Salary per Hour: %d | Certified Classes: %s\n",
-					instructor.getId(), instructor.getName(), instructor.getGender(), instructor.getBirthDate(),
-					DateUtils.getAge(instructor.getBirthDate()), instructor.getBalance(), instructor.getHourlyRate(),
-					String.join(", ", instructor.getQualifications().stream().map(SessionType::toString).toList())));
+	void recordBroadcast(String message) {
+		if (journal != null) {
+			journal.broadcastSent(message);
 		}
-		if (secretary != null) {
-			sb.append(String.format("ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f | Role: Secretary | Salary per Month: %d\n",
-					secretary.getId(), secretary.getName(), secretary.getGender(), secretary.getBirthDate(),
-					DateUtils.getAge(secretary.getBirthDate()), secretary.getBalance(), secretary.getSalary()));
+	}
+
+	/**
+	 * Atomically pays the given person from the gym's account. The gym's account may be overdrawn.
+	 *
+	 * @param payee  the person being paid.
+	 * @param amount the amount to pay.
+	 */
+	public void pay(Person payee, double amount) {
+		bankManager.transferWithOverdraft(id, payee.getId(), amount);
+	}
+
+	/**
+	 * Atomically pays a batch of people from the gym's account: either every payment is made or none is.
+	 *
+	 * @param payeeIds       the IDs of the people being paid.
+	 * @param minorUnits     the amount for each person, in minor units (cents).
+	 * @param count          the number of payments in the arrays.
+	 * @param allowOverdraft whether the gym's account may be overdrawn.
+	 * @return the gym's balance before the batch, in minor units.
+	 * @see BankManager#transferBatch(int, int[], long[], int, boolean)
+	 */
+	public long payAll(int[] payeeIds, long[] minorUnits, int count, boolean allowOverdraft) {
+		return bankManager.transferBatch(id, payeeIds, minorUnits, count, allowOverdraft);
+	}
+
+	/**
+	 * Pays a payroll from the gym's account as one atomic batch, then settles the instructors' sessions
+	 * it paid for.
+	 *
+	 * <p>If the gym is journaled, the payments' new balances and the settlement are journaled as one
+	 * record, so a recovered gym never holds the payments without the settlement and pays no session twice.</p>
+	 *
+	 * @param payeeIds       the IDs of the people being paid.
+	 * @param minorUnits     the amount for each person, in minor units (cents).
+	 * @param count          the number of payments in the arrays.
+	 * @param allowOverdraft whether the gym's account may be overdrawn.
+	 * @param instructors    the instructors among the payees.
+	 * @param paidSessions   the number of sessions each instructor is paid for, in the same order.
+	 * @param through        the last pay period that is paid, or {@code null} for every period.
+	 * @return the gym's balance before the batch, in minor units; nothing was paid or settled if overdraft
+	 * is disallowed and this is less than the batch's total.
+	 */
+	public long payPayroll(int[] payeeIds, long[] minorUnits, int count, boolean allowOverdraft,
+			List<Instructor> instructors, int[] paidSessions, YearMonth through) {
+		GymJournal gymJournal = journal;
+		if (gymJournal == null) {
+			return payPayroll(payeeIds, minorUnits, count, allowOverdraft, instructors, paidSessions, through, null);
 		}
-		sb.append("\n");
+		return gymJournal.runOperation(() -> payPayroll(payeeIds, minorUnits, count, allowOverdraft, instructors,
+				paidSessions, through, (accountIds, balances, accounts) ->
+						gymJournal.payrollSettled(instructors, paidSessions, through, accountIds, balances, accounts)));
+	}
 
-		// Sessions data
-		sb.append("Sessions Data:\n");
-		for (Session session : sessions) {
-			sb.append(String.format("Session Type: %s | Date: %s | Forum: %s | Instructor: %s | Participants: %d/%d\n",
-					session.getType(), session.getDateTime(), session.getForum(), session.getInstructor().getName(),
-					session.getClients().size(), session.getType().getCapacity()));
+	private long payPayroll(int[] payeeIds, long[] minorUnits, int count, boolean allowOverdraft,
+			List<Instructor> instructors, int[] paidSessions, YearMonth through, PostingListener recorder) {
+		long total = 0;
+		for (int i = 0; i < count; i++) {
+			total += minorUnits[i];
+		}
+		long balanceBefore = bankManager.transferBatch(id, payeeIds, minorUnits, count, allowOverdraft, recorder);
+		if (allowOverdraft || balanceBefore >= total) {
+			settle(instructors, paidSessions, through);
 		}
+		return balanceBefore;
+	}
+
+	public void addToHistory(String action) {
+		actionLog.append(ActionEvent.custom(action));
+	}
+
+	public void addToHistory(ActionEvent event) {
+		actionLog.append(event);
+	}
+
+	/**
+	 * Returns a read-only live view of the gym's action history, in the order the actions occurred.
+	 *
+	 * <p>The view is backed by the structured {@link ActionLog}; each message is rendered when it is
+	 * read, and older entries may be read back from disk. Callers that need a stable snapshot should
+	 * copy it themselves.</p>
+	 *
+	 * @return an unmodifiable view of the action history.
+	 */
+	public List<String> getActionHistory() {
+		return actionLog.renderedView();
+	}
+
+	/**
+	 * Returns the structured log behind the action history, for exporters that need the raw events.
+	 *
+	 * <p>Its in-memory capacity is set with {@code -Dgym.history.capacity} (default 100000 events) and
+	 * older events are spilled to a subdirectory of {@code -Dgym.history.dir} that belongs to this gym
+	 * alone (default: a temporary directory).</p>
+	 *
+	 * @return the gym's action log.
+	 */
+	public ActionLog getActionLog() {
+		return actionLog;
+	}
+
+	/**
+	 * Returns a read-only live view of the registered clients, in registration order.
+	 *
+	 * @return an unmodifiable view of the registered clients.
+	 */
+	public Collection<Client> getClients() {
+		return clientsView;
+	}
+
+	/**
+	 * Returns a read-only live view of the hired instructors, in hiring order.
+	 *
+	 * @return an unmodifiable view of the instructors.
+	 */
+	public List<Instructor> getInstructors() {
+		return instructorsView;
+	}
+
+	/**
+	 * Returns a read-only live view of the instructors qualified for a session type, in hiring order.
+	 * The index is kept up to date as instructors are hired, so this costs O(1) rather than a scan.
+	 *
+	 * @param type the session type.
+	 * @return an unmodifiable view of the qualified instructors.
+	 */
+	public List<Instructor> getQualifiedInstructors(SessionType type) {
+		return Collections.unmodifiableList(instructorsByQualification.get(type));
+	}
 
-		sb.deleteCharAt(sb.length() - 1);
+	/**
+	 * Returns a read-only live view of the gym's sessions, in the order they were added.
+	 *
+	 * @return an unmodifiable view of the sessions.
+	 */
+	public List<Session> getSessions() {
+		return sessionsView;
+	}
 
-		return sb.toString();
+	/**
+	 * Writes the gym's report, the text returned by {@link #toString()}, to a byte stream as UTF-8,
+	 * without building it in memory first. Large gyms are rendered in parallel.
+	 *
+	 * @param out the stream to write to; it is flushed but not closed.
+	 * @throws IOException if the stream cannot be written to.
+	 * @see GymReportWriter
+	 */
+	public void writeReport(OutputStream out) throws IOException {
+		new GymReportWriter(this).writeTo(out);
+	}
+
+	/**
+	 * Provides a string representation of the gym's current state, including details about
+	 * its name, balance, secretary, clients, instructors, and sessions.
+	 *
+	 * @return a formatted string representation of the gym.
+	 */
+	@Override
+	public String toString() {
+		StringWriter out = new StringWriter();
+		try {
+			new GymReportWriter(this).writeTo(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // A StringWriter never throws
+		}
+		return out.toString();
 	}
 }
\ No newline at end of file
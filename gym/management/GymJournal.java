@@ -0,0 +1,562 @@
+package gym.management;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Persistence.Journal;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionFactory;
+import gym.management.Sessions.SessionType;
+import gym.management.Strategy.BalanceListener;
+import gym.management.Strategy.BankManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Records every change to a gym's state in a memory-mapped {@link Journal}, so that the gym can be
+ * rebuilt after a crash with {@link Gym#recover(Path)}.
+ *
+ * <p>The gym reports its name, secretary, clients, instructors, sessions, seat bookings and settled
+ * payrolls as they change, the secretary reports the notifications it sends, and the {@link BankManager} reports every
+ * balance change as the account's new balance. A seat booking, cancellation or payroll is journaled as a single
+ * record that also carries the balances its payments changed, so a crash can never keep one without the other. Replaying the records in order rebuilds the same
+ * people, sessions, rosters, inboxes, unpaid sessions and balances, with their original IDs. The action history is not
+ * journaled; it starts empty after a recovery.</p>
+ *
+ * <p>Every {@code gym.journal.checkpointInterval} records (default 1000000) the journal is checkpointed:
+ * the gym's current state is written to a fresh journal as the shortest run of records that rebuilds
+ * it, and that journal atomically replaces the old file. Recovery therefore replays the state as of the
+ * last checkpoint plus the records appended since, however long the gym has been running.</p>
+ *
+ * <p>Like the gym itself, the journal expects its gym to be changed from one thread at a time, apart
+ * from seat bookings and balance changes. A checkpoint waits for the bookings, cancellations and payrolls
+ * in progress and holds off new ones until it is complete, and records are never appended to a journal
+ * that a checkpoint has replaced. Because the {@code BankManager} is shared by the whole
+ * process, only one gym per process should be journaled.</p>
+ */
+public class GymJournal implements BalanceListener, Closeable {
+	private static final int DEFAULT_CHECKPOINT_INTERVAL = 1_000_000;
+	private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+	private static final byte GYM_OPENED = 1;
+	private static final byte GYM_NAMED = 2;
+	private static final byte SECRETARY_APPOINTED = 3;
+	private static final byte CLIENT_REGISTERED = 4;
+	private static final byte CLIENT_UNREGISTERED = 5;
+	private static final byte INSTRUCTOR_HIRED = 6;
+	private static final byte INSTRUCTOR_SESSION_COUNT = 7;
+	private static final byte SESSION_ADDED = 8;
+	private static final byte SEAT_RESERVED = 9;
+	private static final byte SEAT_RELEASED = 10;
+	private static final byte SESSION_NOTIFIED = 11;
+	private static final byte DATE_NOTIFIED = 12;
+	private static final byte BROADCAST_SENT = 13;
+	private static final byte CLIENT_NOTIFIED = 14;
+	private static final byte BALANCE_CHANGED = 15;
+	private static final byte CHECKPOINT_COMPLETED = 16;
+	private static final byte PAYROLL_SETTLED = 17;
+	private static final byte INSTRUCTOR_PAY_ACCRUAL = 18;
+
+	private final Gym gym;
+	private final Path file;
+	private final BankManager bankManager;
+	private final long checkpointInterval;
+	private volatile Journal journal; // Replaced by a checkpoint while holding the previous journal's lock
+	private volatile long nextCheckpoint;
+	private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock(); // Held for writing by a checkpoint
+
+	private GymJournal(Gym gym, Path file, Journal journal) {
+		this.gym = gym;
+		this.file = file;
+		this.journal = journal;
+		this.bankManager = BankManager.getInstance();
+		this.checkpointInterval = Long.getLong("gym.journal.checkpointInterval", DEFAULT_CHECKPOINT_INTERVAL);
+		this.nextCheckpoint = journal == null ? 0 : checkpointAfter(journal.getRecordCount());
+	}
+
+	private long checkpointAfter(long recordCount) {
+		return checkpointInterval > Long.MAX_VALUE - recordCount ? Long.MAX_VALUE : recordCount + checkpointInterval;
+	}
+
+	/**
+	 * Starts journaling a gym into the given file, beginning with a checkpoint of its current state.
+	 * Any existing journal in the file is replaced.
+	 */
+	static GymJournal start(Gym gym, Path file) throws IOException {
+		GymJournal gymJournal = new GymJournal(gym, file, null);
+		gymJournal.checkpoint();
+		return gymJournal;
+	}
+
+	/**
+	 * Rebuilds a gym by replaying its journal, and keeps journaling it into the same file.
+	 */
+	static Gym recover(Path file) throws IOException {
+		Path checkpointFile = checkpointFileOf(file);
+		if (Files.exists(checkpointFile)) {
+			// A checkpoint was interrupted: it supersedes the journal only if it was written completely
+			Replayer checkpointReplayer = new Replayer();
+			Journal.open(checkpointFile, Journal.DEFAULT_REGION_SIZE, checkpointReplayer::checkCompleted).close();
+			if (checkpointReplayer.checkpointCompleted) {
+				Files.move(checkpointFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} else {
+				Files.delete(checkpointFile);
+			}
+		}
+
+		Replayer replayer = new Replayer();
+		Journal journal = Journal.open(file, Journal.DEFAULT_REGION_SIZE, replayer);
+		if (replayer.gym == null) {
+			journal.close();
+			throw new IOException("The journal does not contain a gym: " + file);
+		}
+		GymJournal gymJournal = new GymJournal(replayer.gym, file, journal);
+		gymJournal.bankManager.setBalanceListener(gymJournal);
+		replayer.gym.attachJournal(gymJournal);
+		return replayer.gym;
+	}
+
+	private static Path checkpointFileOf(Path file) {
+		return file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+	}
+
+	/**
+	 * Returns the file the journal is written to.
+	 *
+	 * @return the journal file.
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the number of records in the journal since its last checkpoint, including the checkpoint itself.
+	 *
+	 * @return the number of records.
+	 */
+	public long getRecordCount() {
+		return journal.getRecordCount();
+	}
+
+	/**
+	 * Forces the records written so far to the storage device.
+	 */
+	public void sync() {
+		journal.sync();
+	}
+
+	/**
+	 * Replaces the journal with a checkpoint: the shortest run of records that rebuilds the gym's current state.
+	 *
+	 * <p>The checkpoint is written next to the journal and moved over it once complete, so a crash at any
+	 * point leaves a journal that recovers the gym. It waits for the seat bookings, cancellations and
+	 * payrolls in progress and holds off new ones until it is complete; other changes to the gym must not be made
+	 * while it runs.</p>
+	 *
+	 * @throws IOException if the checkpoint cannot be written.
+	 */
+	public void checkpoint() throws IOException {
+		checkpointLock.writeLock().lock();
+		try {
+			Path checkpointFile = checkpointFileOf(file);
+			Files.deleteIfExists(checkpointFile);
+			Journal previous = journal;
+			nextCheckpoint = Long.MAX_VALUE;
+			// Balance changes made from now on are ordered after the balances written by the checkpoint
+			Journal next = Journal.open(checkpointFile);
+			if (previous == null) {
+				journal = next;
+			} else {
+				synchronized (previous) {
+					journal = next;
+				}
+			}
+			bankManager.setBalanceListener(this);
+			writeState();
+			append(CHECKPOINT_COMPLETED, buffer -> { });
+			next.sync();
+			Files.move(checkpointFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			if (previous != null) {
+				previous.close();
+			}
+			nextCheckpoint = checkpointAfter(next.getRecordCount());
+		} finally {
+			checkpointLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Runs a seat booking, cancellation or payroll, which a checkpoint must not interleave with.
+	 */
+	<T> T runOperation(Supplier<T> operation) {
+		checkpointLock.readLock().lock();
+		try {
+			return operation.get();
+		} finally {
+			checkpointLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Stops journaling and closes the journal file.
+	 *
+	 * @throws IOException if the journal cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		checkpointLock.writeLock().lock();
+		try {
+			bankManager.setBalanceListener(null);
+			journal.close();
+		} finally {
+			checkpointLock.writeLock().unlock();
+		}
+	}
+
+	private void writeState() {
+		Map<Integer, Client> formerClients = new LinkedHashMap<>();
+		for (Session session : gym.getSessions()) {
+			for (Client client : session.getClients()) {
+				if (gym.findClient(client.getId()) == null) {
+					formerClients.put(client.getId(), client);
+				}
+			}
+		}
+
+		append(GYM_OPENED, buffer -> buffer.putInt(gym.getId()));
+		bankManager.reportBalance(gym.getId());
+		if (gym.getName() != null) {
+			gymNamed(gym.getName());
+		}
+		if (gym.getSecretary() != null) {
+			secretaryAppointed(gym.getSecretary());
+		}
+		for (Instructor instructor : gym.getInstructors()) {
+			instructorHired(instructor);
+		}
+		for (Client client : gym.getClients()) {
+			clientRegistered(client);
+		}
+		for (Client client : formerClients.values()) {
+			clientRegistered(client);
+		}
+		for (Session session : gym.getSessions()) {
+			sessionAdded(session);
+			for (Client client : session.getClients()) {
+				seatReserved(session, client, null, null, 0);
+			}
+		}
+		for (Instructor instructor : gym.getInstructors()) {
+			append(INSTRUCTOR_SESSION_COUNT, buffer -> buffer.putInt(instructor.getId()).putInt(instructor.getSessionCount()));
+			PayAccrual payAccrual = instructor.getPayAccrual();
+			Map<YearMonth, Integer> unpaidByPeriod = payAccrual.getUnpaidByPeriod();
+			append(INSTRUCTOR_PAY_ACCRUAL, buffer -> {
+				buffer.putInt(instructor.getId());
+				buffer.putInt(payAccrual.getUnscheduledSessions());
+				buffer.putInt(unpaidByPeriod.size());
+				unpaidByPeriod.forEach((period, count) -> buffer.putInt(PayAccrual.encode(period)).putInt(count));
+			});
+		}
+		for (Client client : formerClients.values()) {
+			clientUnregistered(client);
+		}
+		List<Client> inboxOwners = new ArrayList<>(gym.getClients());
+		inboxOwners.addAll(formerClients.values());
+		for (Client client : inboxOwners) {
+			for (String message : client.getNotifications()) {
+				append(CLIENT_NOTIFIED, buffer -> {
+					buffer.putInt(client.getId());
+					Journal.putString(buffer, message);
+				});
+			}
+		}
+	}
+
+	private void append(byte type, Journal.RecordEncoder encoder) {
+		while (true) {
+			Journal current = journal;
+			synchronized (current) {
+				// Once a checkpoint has replaced this journal, the record belongs in the new one
+				if (current == journal) {
+					current.append(type, encoder);
+					return;
+				}
+			}
+		}
+	}
+
+	// Checkpoints are taken between front-desk operations, never from a balance change or a booking
+	private void appendAndCheckpoint(byte type, Journal.RecordEncoder encoder) {
+		append(type, encoder);
+		if (journal.getRecordCount() >= nextCheckpoint && checkpointLock.getReadHoldCount() == 0) {
+			try {
+				checkpoint();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private static void putPerson(ByteBuffer buffer, Person person) {
+		buffer.putInt(person.getId());
+		Journal.putString(buffer, person.getName());
+		buffer.put((byte) person.getGender().ordinal());
+		Journal.putString(buffer, person.getBirthDate());
+	}
+
+	private static Person getPerson(ByteBuffer buffer) {
+		int id = buffer.getInt();
+		String name = Journal.getString(buffer);
+		Gender gender = Gender.values()[buffer.get()];
+		return Person.restore(id, name, gender, Journal.getString(buffer));
+	}
+
+	void gymNamed(String name) {
+		appendAndCheckpoint(GYM_NAMED, buffer -> Journal.putString(buffer, name));
+	}
+
+	void secretaryAppointed(Secretary secretary) {
+		appendAndCheckpoint(SECRETARY_APPOINTED, buffer -> {
+			putPerson(buffer, secretary);
+			buffer.putInt(secretary.getSalary());
+		});
+		bankManager.reportBalance(secretary.getId());
+	}
+
+	void clientRegistered(Client client) {
+		appendAndCheckpoint(CLIENT_REGISTERED, buffer -> putPerson(buffer, client));
+		bankManager.reportBalance(client.getId());
+	}
+
+	void clientUnregistered(Client client) {
+		appendAndCheckpoint(CLIENT_UNREGISTERED, buffer -> buffer.putInt(client.getId()));
+	}
+
+	void instructorHired(Instructor instructor) {
+		appendAndCheckpoint(INSTRUCTOR_HIRED, buffer -> {
+			putPerson(buffer, instructor);
+			buffer.putInt(instructor.getHourlyRate());
+			buffer.putInt(instructor.getQualifications().size());
+			for (SessionType type : instructor.getQualifications()) {
+				buffer.put((byte) type.ordinal());
+			}
+		});
+		bankManager.reportBalance(instructor.getId());
+	}
+
+	void sessionAdded(Session session) {
+		appendAndCheckpoint(SESSION_ADDED, buffer -> {
+			buffer.putInt(session.getId());
+			buffer.put((byte) session.getType().ordinal());
+			Journal.putString(buffer, session.getDateTime());
+			buffer.put((byte) session.getForum().ordinal());
+			buffer.putInt(session.getInstructor().getId());
+		});
+	}
+
+	// Called with the payroll's balances while their accounts are locked, like a seat booking
+	void payrollSettled(List<Instructor> instructors, int[] paidSessions, YearMonth through,
+			int[] accountIds, long[] balances, int count) {
+		append(PAYROLL_SETTLED, buffer -> {
+			buffer.putInt(PayAccrual.encode(through));
+			buffer.putInt(instructors.size());
+			for (int i = 0; i < instructors.size(); i++) {
+				buffer.putInt(instructors.get(i).getId()).putInt(paidSessions[i]);
+			}
+			putBalances(buffer, accountIds, balances, count);
+		});
+	}
+
+	void clientNotified(Client client, String message) {
+		appendAndCheckpoint(CLIENT_NOTIFIED, buffer -> {
+			buffer.putInt(client.getId());
+			Journal.putString(buffer, message);
+		});
+	}
+
+	// Called with the payment's balances while their accounts are locked, so the record is ordered with their other changes
+	void seatReserved(Session session, Client client, int[] accountIds, long[] balances, int count) {
+		append(SEAT_RESERVED, buffer -> {
+			buffer.putInt(session.getId()).putInt(client.getId());
+			putBalances(buffer, accountIds, balances, count);
+		});
+	}
+
+	void seatReleased(Session session, Client client, int[] accountIds, long[] balances, int count) {
+		append(SEAT_RELEASED, buffer -> {
+			buffer.putInt(session.getId()).putInt(client.getId());
+			putBalances(buffer, accountIds, balances, count);
+		});
+	}
+
+	private static void putBalances(ByteBuffer buffer, int[] accountIds, long[] balances, int count) {
+		buffer.putInt(count);
+		for (int i = 0; i < count; i++) {
+			buffer.putInt(accountIds[i]).putLong(balances[i]);
+		}
+	}
+
+	void sessionNotified(Session session, String message) {
+		appendAndCheckpoint(SESSION_NOTIFIED, buffer -> {
+			buffer.putInt(session.getId());
+			Journal.putString(buffer, message);
+		});
+	}
+
+	void dateNotified(LocalDate day, String message) {
+		appendAndCheckpoint(DATE_NOTIFIED, buffer -> {
+			buffer.putLong(day.toEpochDay());
+			Journal.putString(buffer, message);
+		});
+	}
+
+	void broadcastSent(String message) {
+		appendAndCheckpoint(BROADCAST_SENT, buffer -> Journal.putString(buffer, message));
+	}
+
+	@Override
+	public void balanceChanged(int accountId, long minorUnits) {
+		append(BALANCE_CHANGED, buffer -> buffer.putInt(accountId).putLong(minorUnits));
+	}
+
+	/**
+	 * Applies journal records to a gym being rebuilt. People and sessions are looked up by their original
+	 * IDs, including clients who have since unregistered but still hold seats.
+	 */
+	private static class Replayer implements Journal.RecordHandler {
+		private final BankManager bankManager = BankManager.getInstance();
+		private final Map<Integer, Client> clients = new HashMap<>();
+		private final Map<Integer, Instructor> instructors = new HashMap<>();
+		private final Map<Integer, Session> sessions = new HashMap<>();
+		private Gym gym;
+		private boolean checkpointCompleted;
+
+		void checkCompleted(byte type, ByteBuffer payload) {
+			if (type == CHECKPOINT_COMPLETED) {
+				checkpointCompleted = true;
+			}
+		}
+
+		@Override
+		public void handle(byte type, ByteBuffer payload) {
+			switch (type) {
+				case GYM_OPENED -> gym = new Gym(payload.getInt());
+				case GYM_NAMED -> gym.setName(Journal.getString(payload));
+				case SECRETARY_APPOINTED -> {
+					Person person = getPerson(payload);
+					gym.appointSecretary(person, payload.getInt());
+				}
+				case CLIENT_REGISTERED -> {
+					Client client = new Client(getPerson(payload));
+					clients.put(client.getId(), client);
+					gym.addClient(client);
+					if (gym.getSecretary() != null) {
+						gym.getSecretary().addObserver(client);
+					}
+				}
+				case CLIENT_UNREGISTERED -> {
+					Client client = clients.get(payload.getInt());
+					gym.removeClient(client);
+					if (gym.getSecretary() != null) {
+						gym.getSecretary().removeObserver(client);
+					}
+				}
+				case INSTRUCTOR_HIRED -> {
+					Person person = getPerson(payload);
+					int hourlyRate = payload.getInt();
+					List<SessionType> qualifications = new ArrayList<>();
+					for (int i = payload.getInt(); i > 0; i--) {
+						qualifications.add(SessionType.values()[payload.get()]);
+					}
+					Instructor instructor = new Instructor(person, hourlyRate, qualifications);
+					instructors.put(instructor.getId(), instructor);
+					gym.addInstructor(instructor);
+				}
+				case INSTRUCTOR_SESSION_COUNT -> instructors.get(payload.getInt()).restoreSessionCount(payload.getInt());
+				case SESSION_ADDED -> {
+					int id = payload.getInt();
+					SessionType sessionType = SessionType.values()[payload.get()];
+					String dateTime = Journal.getString(payload);
+					ForumType forum = ForumType.values()[payload.get()];
+					Instructor instructor = instructors.get(payload.getInt());
+					Session session = SessionFactory.restoreSession(id, sessionType, dateTime, forum, instructor);
+					instructor.addSession(session.getStartTime()); // The session was new when it was journaled
+					sessions.put(id, session);
+					gym.addSession(session);
+				}
+				case INSTRUCTOR_PAY_ACCRUAL -> {
+					Instructor instructor = instructors.get(payload.getInt());
+					int unscheduled = payload.getInt();
+					Map<YearMonth, Integer> unpaidByPeriod = new HashMap<>();
+					for (int i = payload.getInt(); i > 0; i--) {
+						unpaidByPeriod.put(PayAccrual.decode(payload.getInt()), payload.getInt());
+					}
+					instructor.getPayAccrual().restore(unscheduled, unpaidByPeriod);
+				}
+				case PAYROLL_SETTLED -> {
+					YearMonth through = PayAccrual.decode(payload.getInt());
+					for (int i = payload.getInt(); i > 0; i--) {
+						instructors.get(payload.getInt()).getPayAccrual().settle(through, payload.getInt());
+					}
+					restoreBalances(payload);
+				}
+				case SEAT_RESERVED -> {
+					sessions.get(payload.getInt()).reserveSeat(clients.get(payload.getInt()));
+					restoreBalances(payload);
+				}
+				case SEAT_RELEASED -> {
+					sessions.get(payload.getInt()).releaseSeat(clients.get(payload.getInt()));
+					restoreBalances(payload);
+				}
+				case SESSION_NOTIFIED -> {
+					Session session = sessions.get(payload.getInt());
+					String message = Journal.getString(payload);
+					for (Client client : session.getClients()) {
+						client.addNotification(message);
+					}
+				}
+				case DATE_NOTIFIED -> {
+					LocalDate day = LocalDate.ofEpochDay(payload.getLong());
+					String message = Journal.getString(payload);
+					for (Session session : gym.getSessionsOn(day)) {
+						for (Client client : session.getClients()) {
+							client.addNotification(message);
+						}
+					}
+				}
+				case BROADCAST_SENT -> {
+					String message = Journal.getString(payload);
+					if (gym.getSecretary() != null) {
+						gym.getSecretary().notifyObservers(message);
+					}
+				}
+				case CLIENT_NOTIFIED -> clients.get(payload.getInt()).addNotification(Journal.getString(payload));
+				case BALANCE_CHANGED -> bankManager.restoreBalance(payload.getInt(), payload.getLong());
+				case CHECKPOINT_COMPLETED -> checkpointCompleted = true;
+				default -> throw new IllegalStateException("Unknown journal record type: " + type);
+			}
+		}
+
+		private void restoreBalances(ByteBuffer payload) {
+			for (int i = payload.getInt(); i > 0; i--) {
+				bankManager.restoreBalance(payload.getInt(), payload.getLong());
+			}
+		}
+	}
+}
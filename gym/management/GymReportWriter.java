@@ -0,0 +1,220 @@
+package gym.management;
+
+import gym.customers.Client;
+import gym.customers.Person;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionType;
+import gym.management.Strategy.BankManager;
+import gym.management.Strategy.DateUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Writes the gym report, the text returned by {@link Gym#toString()}, straight to a character stream.
+ *
+ * <p>The report is written one chunk of rows at a time, so it never has to be held in memory as a
+ * whole. Rows are built by appending each field to a {@link StringBuilder} rather than with
+ * {@code String.format}, and balances are rounded from their exact minor units.</p>
+ *
+ * <p>When a section has more than two chunks of rows, its chunks are rendered in parallel on a
+ * {@link ForkJoinPool} and written in order as they complete. At most two chunks per worker thread
+ * are rendered ahead of the writer, which bounds the memory used however large the gym is.</p>
+ *
+ * <p>The report reflects the gym's state as it is read: changes made while the report is being
+ * written may or may not appear in it.</p>
+ */
+public class GymReportWriter {
+	private static final int DEFAULT_CHUNK_SIZE = 1024; // Rows per chunk
+
+	private final Gym gym;
+	private final ForkJoinPool pool;
+	private final int chunkSize;
+	private final BankManager bankManager = BankManager.getInstance();
+	private LocalDate ageReferenceDate; // Read once per report, so every row uses the same date
+
+	/**
+	 * Appends one row of a section.
+	 */
+	@FunctionalInterface
+	private interface RowRenderer<T> {
+		void render(StringBuilder sb, T row);
+	}
+
+	/**
+	 * Creates a report writer that renders large sections on the common fork/join pool.
+	 *
+	 * @param gym the gym to report on.
+	 */
+	public GymReportWriter(Gym gym) {
+		this(gym, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a report writer.
+	 *
+	 * @param gym       the gym to report on.
+	 * @param pool      the pool that renders the chunks of large sections.
+	 * @param chunkSize the number of rows rendered by one task.
+	 */
+	public GymReportWriter(Gym gym, ForkJoinPool pool, int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		this.gym = gym;
+		this.pool = pool;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Writes the report to a byte stream, encoded as UTF-8. The stream is flushed but not closed.
+	 *
+	 * @param out the stream to write to.
+	 * @throws IOException if the stream cannot be written to.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeTo(writer);
+		writer.flush();
+	}
+
+	/**
+	 * Writes the report to a character stream. The stream is not flushed or closed.
+	 *
+	 * @param out the writer to write to.
+	 * @throws IOException if the writer cannot be written to.
+	 */
+	public synchronized void writeTo(Writer out) throws IOException {
+		ageReferenceDate = DateUtils.getAgeReferenceDate();
+		Secretary secretary = gym.getSecretary();
+		StringBuilder sb = new StringBuilder(256);
+
+		// Gym basic info
+		sb.append("Gym Name: ").append(gym.getName()).append('\n');
+		if (secretary != null) {
+			sb.append("Gym Secretary: ");
+			appendSecretary(sb, secretary);
+		}
+		sb.append("Gym Balance: ");
+		appendAmount(sb, bankManager.getBalanceInMinorUnits(gym.getId()));
+		sb.append("\n\n");
+
+		// Clients data
+		sb.append("Clients Data:\n");
+		out.append(sb);
+		writeRows(out, new ArrayList<>(gym.getClients()), this::appendClient);
+
+		// Employees data
+		out.write("\nEmployees Data:\n");
+		writeRows(out, new ArrayList<>(gym.getInstructors()), this::appendInstructor);
+		sb.setLength(0);
+		if (secretary != null) {
+			appendSecretary(sb, secretary);
+		}
+
+		// Sessions data. Each row starts with its line break, so the report does not end with one
+		sb.append("\nSessions Data:");
+		out.append(sb);
+		writeRows(out, new ArrayList<>(gym.getSessions()), this::appendSession);
+	}
+
+	private <T> void writeRows(Writer out, List<T> rows, RowRenderer<T> renderer) throws IOException {
+		if (rows.size() <= 2 * chunkSize || pool.getParallelism() == 1) {
+			StringBuilder sb = new StringBuilder(128 * Math.min(rows.size(), chunkSize));
+			for (int start = 0; start < rows.size(); start += chunkSize) {
+				sb.setLength(0);
+				out.append(renderChunk(sb, rows, start, renderer));
+			}
+			return;
+		}
+
+		int maxRenderedAhead = 2 * pool.getParallelism();
+		Queue<ForkJoinTask<StringBuilder>> rendering = new ArrayDeque<>(maxRenderedAhead);
+		for (int start = 0; start < rows.size(); start += chunkSize) {
+			if (rendering.size() == maxRenderedAhead) {
+				out.append(rendering.remove().join());
+			}
+			int chunkStart = start;
+			rendering.add(pool.submit(() ->
+					renderChunk(new StringBuilder(128 * chunkSize), rows, chunkStart, renderer)));
+		}
+		while (!rendering.isEmpty()) {
+			out.append(rendering.remove().join());
+		}
+	}
+
+	private <T> StringBuilder renderChunk(StringBuilder sb, List<T> rows, int start, RowRenderer<T> renderer) {
+		int end = Math.min(start + chunkSize, rows.size());
+		for (int i = start; i < end; i++) {
+			renderer.render(sb, rows.get(i));
+		}
+		return sb;
+	}
+
+	private void appendClient(StringBuilder sb, Client client) {
+		appendPerson(sb, client);
+		sb.append('\n');
+	}
+
+	private void appendInstructor(StringBuilder sb, Instructor instructor) {
+		appendPerson(sb, instructor);
+		sb.append(" | Role: Instructor | Salary per Hour: ").append(instructor.getHourlyRate())
+				.append(" | Certified Classes: ");
+		List<SessionType> qualifications = instructor.getQualifications();
+		for (int i = 0; i < qualifications.size(); i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(qualifications.get(i).name());
+		}
+		sb.append('\n');
+	}
+
+	private void appendSecretary(StringBuilder sb, Secretary secretary) {
+		appendPerson(sb, secretary);
+		sb.append(" | Role: Secretary | Salary per Month: ").append(secretary.getSalary()).append('\n');
+	}
+
+	private void appendPerson(StringBuilder sb, Person person) {
+		sb.append("ID: ").append(person.getId())
+				.append(" | Name: ").append(person.getName())
+				.append(" | Gender: ").append(person.getGender().name())
+				.append(" | Birthday: ").append(person.getBirthDate())
+				.append(" | Age: ").append(DateUtils.getAge(person.getParsedBirthDate(), ageReferenceDate))
+				.append(" | Balance: ");
+		appendAmount(sb, bankManager.getBalanceInMinorUnits(person.getId()));
+	}
+
+	private void appendSession(StringBuilder sb, Session session) {
+		sb.append("\nSession Type: ").append(session.getType().name())
+				.append(" | Date: ").append(session.getDateTime())
+				.append(" | Forum: ").append(session.getForum().name())
+				.append(" | Instructor: ").append(session.getInstructor().getName())
+				.append(" | Participants: ").append(session.getClients().size())
+				.append('/').append(session.getType().getCapacity());
+	}
+
+	// Rounds to whole units half away from zero and keeps the sign of small debts, as "%.0f" does
+	private static void appendAmount(StringBuilder sb, long minorUnits) {
+		long magnitude = Math.abs(minorUnits);
+		long units = magnitude / BankManager.MINOR_UNITS_PER_UNIT;
+		if (magnitude % BankManager.MINOR_UNITS_PER_UNIT * 2 >= BankManager.MINOR_UNITS_PER_UNIT) {
+			units++;
+		}
+		if (minorUnits < 0) {
+			sb.append('-');
+		}
+		sb.append(units);
+	}
+}
@@ -0,0 +1,714 @@
+package gym.management;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionFactory;
+import gym.management.Sessions.SessionType;
+import gym.management.Strategy.BankManager;
+import gym.management.Strategy.DateUtils;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves and loads point-in-time snapshots of a whole gym in a compact, versioned binary format,
+ * e.g. to move a gym to another host.
+ *
+ * <p>A snapshot holds the gym's account, its secretary, its clients (including former clients who
+ * still hold seats) with their notifications, its instructors with their qualifications, session
+ * counts and unpaid sessions per pay period, and its sessions with their rosters, together with every one of those accounts' balances.
+ * The action history and the journal are not part of it.</p>
+ *
+ * <p>The format is columnar: after a 20-byte header (magic, version, body length and the body's
+ * CRC-32C checksum) each table is a row count followed by one column at a time, with numbers as
+ * fixed-width arrays, strings as a column of UTF-8 lengths followed by the bytes, and session rosters
+ * as arrays of client IDs. Columns
+ * are copied in bulk to and from the channel's buffer, so no field is read or written reflectively.
+ * Loading restores every object with its original ID and without repeating side effects such as
+ * counting a session towards its instructor twice.</p>
+ */
+public final class GymSnapshot {
+	private static final int MAGIC = 0x47594D53; // "GYMS"
+	private static final int VERSION = 3; // Version 3 added the body checksum
+	private static final int UNCHECKSUMMED_VERSION = 2; // Version 2 added the instructors' unpaid sessions
+	private static final int UNACCRUED_VERSION = 1;
+	private static final int UNCHECKSUMMED_HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+	private static final int HEADER_SIZE = UNCHECKSUMMED_HEADER_SIZE + Integer.BYTES;
+	private static final byte NO_SECRETARY = 0;
+	private static final byte HAS_SECRETARY = 1;
+
+	private GymSnapshot() {
+	}
+
+	/**
+	 * Writes a snapshot of the gym to a channel. The gym must not be changed while it is being written.
+	 *
+	 * @param gym     the gym to save.
+	 * @param channel the channel to write to; it is not closed.
+	 * @throws IOException if the channel cannot be written.
+	 */
+	public static void save(Gym gym, WritableByteChannel channel) throws IOException {
+		BankManager bankManager = BankManager.getInstance();
+		List<Session> sessions = gym.getSessions();
+		int sessionCount = sessions.size();
+		// Rosters are copied once, so seats booked while saving cannot make the columns disagree
+		List<List<Client>> rosters = new ArrayList<>(sessionCount);
+		for (Session session : sessions) {
+			rosters.add(new ArrayList<>(session.getClients()));
+		}
+		Map<Integer, Client> clients = new LinkedHashMap<>();
+		for (Client client : gym.getClients()) {
+			clients.put(client.getId(), client);
+		}
+		int registeredCount = clients.size();
+		for (List<Client> roster : rosters) {
+			for (Client client : roster) {
+				clients.putIfAbsent(client.getId(), client);
+			}
+		}
+
+		Writer writer = new Writer();
+		writer.putInt(gym.getId());
+		writer.putLong(bankManager.getBalanceInMinorUnits(gym.getId()));
+		writer.putNullableString(gym.getName());
+
+		Secretary secretary = gym.getSecretary();
+		if (secretary == null) {
+			writer.putByte(NO_SECRETARY);
+		} else {
+			writer.putByte(HAS_SECRETARY);
+			writer.putPeople(List.of(secretary));
+			writer.putInt(secretary.getSalary());
+		}
+
+		// Clients: the registered clients come first, in registration order
+		List<Client> clientRows = new ArrayList<>(clients.values());
+		writer.putInt(clientRows.size());
+		writer.putInt(registeredCount);
+		writer.putPeople(clientRows);
+		int[] notificationCounts = new int[clientRows.size()];
+		List<String> notifications = new ArrayList<>();
+		for (int i = 0; i < clientRows.size(); i++) {
+			List<String> inbox = clientRows.get(i).getNotifications();
+			notificationCounts[i] = inbox.size();
+			notifications.addAll(inbox);
+		}
+		writer.putInts(notificationCounts);
+		writer.putStrings(notifications);
+
+		// Instructors, with their qualifications in order as one flattened column of type ordinals
+		List<Instructor> instructors = gym.getInstructors();
+		int instructorCount = instructors.size();
+		writer.putInt(instructorCount);
+		writer.putPeople(instructors);
+		int[] hourlyRates = new int[instructorCount];
+		int[] sessionCounts = new int[instructorCount];
+		int[] qualificationCounts = new int[instructorCount];
+		List<SessionType> qualifications = new ArrayList<>();
+		for (int i = 0; i < instructorCount; i++) {
+			Instructor instructor = instructors.get(i);
+			hourlyRates[i] = instructor.getHourlyRate();
+			sessionCounts[i] = instructor.getSessionCount();
+			qualificationCounts[i] = instructor.getQualifications().size();
+			qualifications.addAll(instructor.getQualifications());
+		}
+		writer.putInts(hourlyRates);
+		writer.putInts(sessionCounts);
+		writer.putInts(qualificationCounts);
+		writer.putBytes(ordinals(qualifications));
+
+		// Unpaid sessions, with each instructor's pay periods as a run of (period, sessions) in two flattened columns
+		int[] unscheduledSessions = new int[instructorCount];
+		int[] periodCounts = new int[instructorCount];
+		List<Map<YearMonth, Integer>> accruals = new ArrayList<>(instructorCount);
+		for (int i = 0; i < instructorCount; i++) {
+			PayAccrual payAccrual = instructors.get(i).getPayAccrual();
+			Map<YearMonth, Integer> unpaidByPeriod = payAccrual.getUnpaidByPeriod();
+			unscheduledSessions[i] = payAccrual.getUnscheduledSessions();
+			periodCounts[i] = unpaidByPeriod.size();
+			accruals.add(unpaidByPeriod);
+		}
+		int[] periods = new int[prefixSum(periodCounts, instructorCount)];
+		int[] periodSessions = new int[periods.length];
+		int period = 0;
+		for (Map<YearMonth, Integer> unpaidByPeriod : accruals) {
+			for (Map.Entry<YearMonth, Integer> entry : unpaidByPeriod.entrySet()) {
+				periods[period] = PayAccrual.encode(entry.getKey());
+				periodSessions[period++] = entry.getValue();
+			}
+		}
+		writer.putInts(unscheduledSessions);
+		writer.putInts(periodCounts);
+		writer.putInts(periods);
+		writer.putInts(periodSessions);
+
+		// Sessions, with each roster as a run of client IDs in one flattened column
+		writer.putInt(sessionCount);
+		int[] sessionIds = new int[sessionCount];
+		List<SessionType> types = new ArrayList<>(sessionCount);
+		byte[] forums = new byte[sessionCount];
+		int[] instructorIds = new int[sessionCount];
+		List<String> dateTimes = new ArrayList<>(sessionCount);
+		int[] rosterSizes = new int[sessionCount];
+		int rosterTotal = 0;
+		for (int i = 0; i < sessionCount; i++) {
+			Session session = sessions.get(i);
+			sessionIds[i] = session.getId();
+			types.add(session.getType());
+			forums[i] = (byte) session.getForum().ordinal();
+			instructorIds[i] = session.getInstructor().getId();
+			dateTimes.add(session.getDateTime());
+			rosterSizes[i] = rosters.get(i).size();
+			rosterTotal += rosterSizes[i];
+		}
+		int[] rosterClientIds = new int[rosterTotal];
+		int seat = 0;
+		for (List<Client> roster : rosters) {
+			for (Client client : roster) {
+				rosterClientIds[seat++] = client.getId();
+			}
+		}
+		writer.putInts(sessionIds);
+		writer.putBytes(ordinals(types));
+		writer.putBytes(forums);
+		writer.putInts(instructorIds);
+		writer.putStrings(dateTimes);
+		writer.putInts(rosterSizes);
+		writer.putInts(rosterClientIds);
+
+		writer.writeTo(channel);
+	}
+
+	private static int prefixSum(int[] values, int end) {
+		int sum = 0;
+		for (int i = 0; i < end; i++) {
+			sum += values[i];
+		}
+		return sum;
+	}
+
+	private static byte[] ordinals(List<? extends Enum<?>> values) {
+		byte[] ordinals = new byte[values.size()];
+		for (int i = 0; i < ordinals.length; i++) {
+			ordinals[i] = (byte) values.get(i).ordinal();
+		}
+		return ordinals;
+	}
+
+	/**
+	 * Reads a snapshot from a channel and rebuilds the gym it describes, with its original IDs and balances.
+	 *
+	 * <p>The loaded gym is a new instance, independent of the {@link Gym#getInstance() singleton}.
+	 * Its registered clients receive the secretary's broadcasts.</p>
+	 *
+	 * <p>The body is checked against the header's checksum and decoded in full before anything is
+	 * created, and the balances are restored last, so a snapshot that fails to load leaves every
+	 * account untouched.</p>
+	 *
+	 * @param channel the channel to read from; it is not closed.
+	 * @return the loaded gym.
+	 * @throws IOException if the channel cannot be read or does not hold a supported, intact snapshot.
+	 */
+	public static Gym load(ReadableByteChannel channel) throws IOException {
+		ByteBuffer header = readFully(channel, UNCHECKSUMMED_HEADER_SIZE);
+		if (header.getInt() != MAGIC) {
+			throw new IOException("Not a gym snapshot");
+		}
+		int version = header.getInt();
+		if (version != VERSION && version != UNCHECKSUMMED_VERSION && version != UNACCRUED_VERSION) {
+			throw new IOException("Unsupported gym snapshot version: " + version);
+		}
+		long bodyLength = header.getLong();
+		if (bodyLength < 0 || bodyLength > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt gym snapshot: body length " + bodyLength);
+		}
+		int expectedChecksum = version == VERSION ? readFully(channel, Integer.BYTES).getInt() : 0;
+		if (channel instanceof SeekableByteChannel file && bodyLength > file.size() - file.position()) {
+			throw new IOException("Truncated gym snapshot");
+		}
+		ByteBuffer body = readFully(channel, (int) bodyLength);
+		if (version == VERSION && checksum(body) != expectedChecksum) {
+			throw new IOException("Corrupt gym snapshot: checksum mismatch");
+		}
+
+		Contents contents;
+		try {
+			contents = decode(new Reader(body), version);
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt gym snapshot", e);
+		}
+		return build(contents);
+	}
+
+	private static int checksum(ByteBuffer body) {
+		CRC32C crc = new CRC32C();
+		crc.update(body.duplicate());
+		return (int) crc.getValue();
+	}
+
+	// Reads every column and checks that the rows fit together, without creating or changing anything
+	private static Contents decode(Reader reader, int version) {
+		Contents contents = new Contents();
+		contents.gymId = reader.getInt();
+		contents.gymBalance = reader.getLong();
+		contents.name = reader.getNullableString();
+
+		byte secretaryFlag = reader.getByte();
+		if (secretaryFlag == HAS_SECRETARY) {
+			contents.secretary = reader.getPeople(1);
+			contents.secretarySalary = reader.getInt();
+		} else if (secretaryFlag != NO_SECRETARY) {
+			throw new IllegalStateException("Unknown secretary flag: " + secretaryFlag);
+		}
+
+		int clientCount = reader.getInt();
+		contents.registeredCount = reader.getInt();
+		if (contents.registeredCount < 0 || contents.registeredCount > clientCount) {
+			throw new IllegalStateException("Registered client count out of range: " + contents.registeredCount);
+		}
+		contents.clients = reader.getPeople(clientCount);
+		contents.notificationCounts = reader.getInts(clientCount);
+		contents.notifications = reader.getStrings(total(contents.notificationCounts));
+
+		int instructorCount = reader.getInt();
+		contents.instructors = reader.getPeople(instructorCount);
+		contents.hourlyRates = reader.getInts(instructorCount);
+		contents.sessionCounts = reader.getInts(instructorCount);
+		contents.qualificationCounts = reader.getInts(instructorCount);
+		contents.qualifications = enums(SessionType.values(),
+				reader.getBytes(total(contents.qualificationCounts)));
+		int[] periods;
+		if (version == UNACCRUED_VERSION) {
+			// Every session counted so far is still owed, as it was before pay periods were tracked
+			contents.unscheduledSessions = contents.sessionCounts;
+			contents.periodCounts = new int[instructorCount];
+			periods = contents.periodSessions = new int[0];
+		} else {
+			contents.unscheduledSessions = reader.getInts(instructorCount);
+			contents.periodCounts = reader.getInts(instructorCount);
+			periods = reader.getInts(total(contents.periodCounts));
+			contents.periodSessions = reader.getInts(periods.length);
+		}
+		contents.periods = new YearMonth[periods.length];
+		for (int i = 0; i < periods.length; i++) {
+			contents.periods[i] = PayAccrual.decode(periods[i]);
+		}
+
+		int sessionCount = reader.getInt();
+		contents.sessionIds = reader.getInts(sessionCount);
+		contents.sessionTypes = enums(SessionType.values(), reader.getBytes(sessionCount));
+		contents.forums = enums(ForumType.values(), reader.getBytes(sessionCount));
+		contents.sessionInstructorIds = reader.getInts(sessionCount);
+		contents.dateTimes = reader.getStrings(sessionCount);
+		for (String dateTime : contents.dateTimes) {
+			DateUtils.parseDateTime(dateTime);
+		}
+		contents.rosterSizes = reader.getInts(sessionCount);
+		contents.rosterClientIds = reader.getInts(total(contents.rosterSizes));
+		reader.end();
+
+		Set<Integer> instructorIds = contents.instructors.idSet();
+		for (int instructorId : contents.sessionInstructorIds) {
+			if (!instructorIds.contains(instructorId)) {
+				throw new IllegalStateException("Session taught by unknown instructor " + instructorId);
+			}
+		}
+		Set<Integer> clientIds = contents.clients.idSet();
+		for (int clientId : contents.rosterClientIds) {
+			if (!clientIds.contains(clientId)) {
+				throw new IllegalStateException("Seat held by unknown client " + clientId);
+			}
+		}
+		return contents;
+	}
+
+	// Sums a column of row counts, none of which may be negative
+	private static int total(int[] counts) {
+		long total = 0;
+		for (int count : counts) {
+			if (count < 0) {
+				throw new IllegalStateException("Negative row count: " + count);
+			}
+			total += count;
+		}
+		return Math.toIntExact(total);
+	}
+
+	private static <E extends Enum<E>> E[] enums(E[] values, byte[] ordinals) {
+		E[] result = Arrays.copyOf(values, ordinals.length);
+		for (int i = 0; i < ordinals.length; i++) {
+			result[i] = values[ordinals[i]];
+		}
+		return result;
+	}
+
+	private static Gym build(Contents contents) {
+		Gym gym = new Gym(contents.gymId);
+		if (contents.name != null) {
+			gym.setName(contents.name);
+		}
+		if (contents.secretary != null) {
+			gym.appointSecretary(contents.secretary.get(0), contents.secretarySalary);
+		}
+
+		Map<Integer, Client> clients = new HashMap<>();
+		List<Client> registeredClients = new ArrayList<>(contents.registeredCount);
+		int notification = 0;
+		for (int i = 0; i < contents.clients.size(); i++) {
+			Client client = new Client(contents.clients.get(i));
+			for (int j = 0; j < contents.notificationCounts[i]; j++) {
+				client.addNotification(contents.notifications[notification++]);
+			}
+			clients.put(client.getId(), client);
+			if (i < contents.registeredCount) {
+				registeredClients.add(client);
+			}
+		}
+		gym.addClients(registeredClients);
+		if (gym.getSecretary() != null) {
+			for (Client client : registeredClients) {
+				gym.getSecretary().addObserver(client);
+			}
+		}
+
+		Map<Integer, Instructor> instructors = new HashMap<>();
+		int qualification = 0;
+		int period = 0;
+		for (int i = 0; i < contents.instructors.size(); i++) {
+			List<SessionType> qualifications = new ArrayList<>(contents.qualificationCounts[i]);
+			for (int j = 0; j < contents.qualificationCounts[i]; j++) {
+				qualifications.add(contents.qualifications[qualification++]);
+			}
+			Instructor instructor = new Instructor(contents.instructors.get(i), contents.hourlyRates[i], qualifications);
+			instructor.restoreSessionCount(contents.sessionCounts[i]);
+			Map<YearMonth, Integer> unpaidByPeriod = new HashMap<>();
+			for (int j = 0; j < contents.periodCounts[i]; j++, period++) {
+				unpaidByPeriod.put(contents.periods[period], contents.periodSessions[period]);
+			}
+			instructor.getPayAccrual().restore(contents.unscheduledSessions[i], unpaidByPeriod);
+			instructors.put(instructor.getId(), instructor);
+			gym.addInstructor(instructor);
+		}
+
+		int seat = 0;
+		for (int i = 0; i < contents.sessionIds.length; i++) {
+			Session session = SessionFactory.restoreSession(contents.sessionIds[i], contents.sessionTypes[i],
+					contents.dateTimes[i], contents.forums[i], instructors.get(contents.sessionInstructorIds[i]));
+			for (int j = 0; j < contents.rosterSizes[i]; j++) {
+				session.reserveSeat(clients.get(contents.rosterClientIds[seat++]));
+			}
+			gym.addSession(session);
+		}
+
+		BankManager bankManager = BankManager.getInstance();
+		bankManager.restoreBalance(gym.getId(), contents.gymBalance);
+		if (contents.secretary != null) {
+			contents.secretary.restoreBalances(bankManager);
+		}
+		contents.clients.restoreBalances(bankManager);
+		contents.instructors.restoreBalances(bankManager);
+		return gym;
+	}
+
+	private static ByteBuffer readFully(ReadableByteChannel channel, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new IOException("Truncated gym snapshot");
+			}
+		}
+		return buffer.flip();
+	}
+
+	/**
+	 * Builds the snapshot body in a growing buffer and writes it behind the header.
+	 */
+	private static class Writer {
+		private ByteBuffer body = ByteBuffer.allocate(1 << 16);
+
+		private void ensureRemaining(long bytes) {
+			if (body.remaining() < bytes) {
+				long capacity = Math.max((long) body.capacity() * 2, body.position() + bytes);
+				if (capacity > Integer.MAX_VALUE) {
+					throw new IllegalStateException("The gym is too large for a single snapshot");
+				}
+				body = ByteBuffer.allocate((int) capacity).put(body.flip());
+			}
+		}
+
+		void putByte(byte value) {
+			ensureRemaining(Byte.BYTES);
+			body.put(value);
+		}
+
+		void putInt(int value) {
+			ensureRemaining(Integer.BYTES);
+			body.putInt(value);
+		}
+
+		void putLong(long value) {
+			ensureRemaining(Long.BYTES);
+			body.putLong(value);
+		}
+
+		void putBytes(byte[] values) {
+			ensureRemaining(values.length);
+			body.put(values);
+		}
+
+		void putInts(int[] values) {
+			ensureRemaining((long) values.length * Integer.BYTES);
+			body.asIntBuffer().put(values);
+			body.position(body.position() + values.length * Integer.BYTES);
+		}
+
+		void putLongs(long[] values) {
+			ensureRemaining((long) values.length * Long.BYTES);
+			body.asLongBuffer().put(values);
+			body.position(body.position() + values.length * Long.BYTES);
+		}
+
+		void putStrings(List<String> values) {
+			byte[][] encoded = new byte[values.size()][];
+			int[] lengths = new int[encoded.length];
+			long total = 0;
+			for (int i = 0; i < encoded.length; i++) {
+				encoded[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+				lengths[i] = encoded[i].length;
+				total += lengths[i];
+			}
+			putInts(lengths);
+			ensureRemaining(total);
+			for (byte[] value : encoded) {
+				body.put(value);
+			}
+		}
+
+		// A null string is written as a length of -1
+		void putNullableString(String value) {
+			if (value == null) {
+				putInt(-1);
+			} else {
+				putStrings(List.of(value));
+			}
+		}
+
+		// One column per person field, with the balances read from the bank
+		void putPeople(List<? extends Person> people) {
+			BankManager bankManager = BankManager.getInstance();
+			int[] ids = new int[people.size()];
+			byte[] genders = new byte[ids.length];
+			long[] balances = new long[ids.length];
+			List<String> names = new ArrayList<>(ids.length);
+			List<String> birthDates = new ArrayList<>(ids.length);
+			for (int i = 0; i < ids.length; i++) {
+				Person person = people.get(i);
+				ids[i] = person.getId();
+				genders[i] = (byte) person.getGender().ordinal();
+				balances[i] = bankManager.getBalanceInMinorUnits(person.getId());
+				names.add(person.getName());
+				birthDates.add(person.getBirthDate());
+			}
+			putInts(ids);
+			putBytes(genders);
+			putLongs(balances);
+			putStrings(names);
+			putStrings(birthDates);
+		}
+
+		void writeTo(WritableByteChannel channel) throws IOException {
+			body.flip();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putLong(body.remaining()).putInt(checksum(body)).flip();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			while (body.hasRemaining()) {
+				channel.write(body);
+			}
+		}
+	}
+
+	/**
+	 * Every column of a snapshot body, decoded and checked before any of it is applied.
+	 */
+	private static final class Contents {
+		private int gymId;
+		private long gymBalance;
+		private String name;
+		private People secretary; // Null if the gym has none
+		private int secretarySalary;
+		private People clients;
+		private int registeredCount;
+		private int[] notificationCounts;
+		private String[] notifications;
+		private People instructors;
+		private int[] hourlyRates;
+		private int[] sessionCounts;
+		private int[] qualificationCounts;
+		private SessionType[] qualifications;
+		private int[] unscheduledSessions;
+		private int[] periodCounts;
+		private YearMonth[] periods;
+		private int[] periodSessions;
+		private int[] sessionIds;
+		private SessionType[] sessionTypes;
+		private ForumType[] forums;
+		private int[] sessionInstructorIds;
+		private String[] dateTimes;
+		private int[] rosterSizes;
+		private int[] rosterClientIds;
+	}
+
+	/**
+	 * The person columns of one table, kept as read until the gym is built.
+	 */
+	private static final class People {
+		private final int[] ids;
+		private final Gender[] genders;
+		private final long[] balances;
+		private final String[] names;
+		private final String[] birthDates;
+
+		People(int[] ids, Gender[] genders, long[] balances, String[] names, String[] birthDates) {
+			this.ids = ids;
+			this.genders = genders;
+			this.balances = balances;
+			this.names = names;
+			this.birthDates = birthDates;
+		}
+
+		int size() {
+			return ids.length;
+		}
+
+		// The person keeps their original ID; the balance is restored separately
+		Person get(int index) {
+			return Person.restore(ids[index], names[index], genders[index], birthDates[index]);
+		}
+
+		Set<Integer> idSet() {
+			Set<Integer> idSet = new HashSet<>();
+			for (int id : ids) {
+				idSet.add(id);
+			}
+			return idSet;
+		}
+
+		void restoreBalances(BankManager bankManager) {
+			for (int i = 0; i < ids.length; i++) {
+				bankManager.restoreBalance(ids[i], balances[i]);
+			}
+		}
+	}
+
+	/**
+	 * Reads the columns of a snapshot body, in the order the {@link Writer} wrote them. A count or
+	 * length that runs past the end of the body throws a {@link BufferUnderflowException} before
+	 * anything is allocated for it.
+	 */
+	private static class Reader {
+		private final ByteBuffer body;
+
+		Reader(ByteBuffer body) {
+			this.body = body;
+		}
+
+		private void require(long bytes) {
+			if (bytes < 0 || bytes > body.remaining()) {
+				throw new BufferUnderflowException();
+			}
+		}
+
+		void end() {
+			if (body.hasRemaining()) {
+				throw new IllegalStateException(body.remaining() + " unread bytes at the end of the snapshot");
+			}
+		}
+
+		byte getByte() {
+			return body.get();
+		}
+
+		int getInt() {
+			return body.getInt();
+		}
+
+		long getLong() {
+			return body.getLong();
+		}
+
+		byte[] getBytes(int count) {
+			require(count);
+			byte[] values = new byte[count];
+			body.get(values);
+			return values;
+		}
+
+		int[] getInts(int count) {
+			require((long) count * Integer.BYTES);
+			int[] values = new int[count];
+			body.asIntBuffer().get(values);
+			body.position(body.position() + count * Integer.BYTES);
+			return values;
+		}
+
+		long[] getLongs(int count) {
+			require((long) count * Long.BYTES);
+			long[] values = new long[count];
+			body.asLongBuffer().get(values);
+			body.position(body.position() + count * Long.BYTES);
+			return values;
+		}
+
+		String[] getStrings(int count) {
+			int[] lengths = getInts(count);
+			String[] values = new String[count];
+			for (int i = 0; i < count; i++) {
+				require(lengths[i]);
+				values[i] = new String(body.array(), body.arrayOffset() + body.position(), lengths[i], StandardCharsets.UTF_8);
+				body.position(body.position() + lengths[i]);
+			}
+			return values;
+		}
+
+		String getNullableString() {
+			if (body.getInt(body.position()) == -1) {
+				body.getInt();
+				return null;
+			}
+			return getStrings(1)[0];
+		}
+
+		// Reads the person columns and checks the birthdates, without restoring anyone yet
+		People getPeople(int count) {
+			int[] ids = getInts(count);
+			Gender[] genders = enums(Gender.values(), getBytes(count));
+			long[] balances = getLongs(count);
+			String[] names = getStrings(count);
+			String[] birthDates = getStrings(count);
+			for (String birthDate : birthDates) {
+				DateUtils.parseDate(birthDate);
+			}
+			return new People(ids, genders, balances, names, birthDates);
+		}
+	}
+}
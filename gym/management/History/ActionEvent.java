@@ -0,0 +1,191 @@
+package gym.management.History;
+
+import gym.customers.Person;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionType;
+import gym.management.Strategy.DateUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A single structured entry in the gym's action history.
+ *
+ * <p>An event only stores the facts of the action (its kind, the person and session involved,
+ * an amount and any free text); the human-readable message is produced by {@link #render()}
+ * when the history is actually read. Fields that do not apply to an event's kind are left empty:
+ * {@code null}, or {@code -1} for IDs.</p>
+ *
+ * <p>Events are created through the static factory methods, one per {@link ActionKind}.</p>
+ */
+public class ActionEvent {
+	private final ActionKind kind;
+	private final long timestamp;
+	private final int actorId;
+	private final String actorName;
+	private final int sessionId;
+	private final SessionType sessionType;
+	private final LocalDateTime dateTime;
+	private final long amount;
+	private final long count;
+	private final String text;
+
+	ActionEvent(ActionKind kind, long timestamp, int actorId, String actorName, int sessionId, SessionType sessionType,
+				LocalDateTime dateTime, long amount, long count, String text) {
+		this.kind = kind;
+		this.timestamp = timestamp;
+		this.actorId = actorId;
+		this.actorName = actorName;
+		this.sessionId = sessionId;
+		this.sessionType = sessionType;
+		this.dateTime = dateTime;
+		this.amount = amount;
+		this.count = count;
+		this.text = text;
+	}
+
+	private static ActionEvent of(ActionKind kind, Person actor, Session session, long amount, String text) {
+		return new ActionEvent(kind, System.currentTimeMillis(),
+				actor == null ? -1 : actor.getId(), actor == null ? null : actor.getName(),
+				session == null ? -1 : session.getId(), session == null ? null : session.getType(),
+				session == null ? null : session.getStartTime(), amount, 0, text);
+	}
+
+	public static ActionEvent secretaryAppointed(Person secretary) {
+		return of(ActionKind.SecretaryAppointed, secretary, null, 0, null);
+	}
+
+	public static ActionEvent clientRegistered(Person client) {
+		return of(ActionKind.ClientRegistered, client, null, 0, null);
+	}
+
+	public static ActionEvent clientsImported(int registeredCount, int rejectedCount) {
+		return new ActionEvent(ActionKind.ClientsImported, System.currentTimeMillis(), -1, null, -1, null, null,
+				rejectedCount, registeredCount, null);
+	}
+
+	public static ActionEvent clientUnregistered(Person client) {
+		return of(ActionKind.ClientUnregistered, client, null, 0, null);
+	}
+
+	public static ActionEvent instructorHired(Person instructor, int hourlyRate) {
+		return of(ActionKind.InstructorHired, instructor, null, hourlyRate, null);
+	}
+
+	public static ActionEvent sessionCreated(Session session) {
+		return of(ActionKind.SessionCreated, session.getInstructor(), session, 0, null);
+	}
+
+	public static ActionEvent clientRegisteredToSession(Person client, Session session, int price) {
+		return of(ActionKind.ClientRegisteredToSession, client, session, price, null);
+	}
+
+	public static ActionEvent registrationCancelled(Person client, Session session, int refund) {
+		return of(ActionKind.RegistrationCancelled, client, session, refund, null);
+	}
+
+	public static ActionEvent registrationFailed(Person client, Session session, String reason) {
+		return of(ActionKind.RegistrationFailed, client, session, 0, reason);
+	}
+
+	public static ActionEvent sessionMessageSent(Session session, String message) {
+		return of(ActionKind.SessionMessageSent, null, session, 0, message);
+	}
+
+	public static ActionEvent dateMessageSent(LocalDate date, String message) {
+		return new ActionEvent(ActionKind.DateMessageSent, System.currentTimeMillis(), -1, null, -1, null,
+				date.atStartOfDay(), 0, 0, message);
+	}
+
+	public static ActionEvent broadcastSent(String message) {
+		return of(ActionKind.BroadcastSent, null, null, 0, message);
+	}
+
+	public static ActionEvent salariesPaid(boolean allPaid) {
+		return of(allPaid ? ActionKind.SalariesPaid : ActionKind.SalariesFailed, null, null, 0, null);
+	}
+
+	public static ActionEvent custom(String action) {
+		return of(ActionKind.Custom, null, null, 0, action);
+	}
+
+	/**
+	 * Produces the history message for this event.
+	 *
+	 * @return the human-readable description of the action.
+	 */
+	public String render() {
+		return switch (kind) {
+			case SecretaryAppointed -> ("A new secretary has started working at the gym: " + actorName).strip();
+			case ClientRegistered -> "Registered new client: " + actorName;
+			case ClientsImported -> "Registered " + count + " new clients in a bulk import (" + amount + " rejected)";
+			case ClientUnregistered -> "Unregistered client: " + actorName;
+			case InstructorHired -> "Hired new instructor: " + actorName + " with salary per hour: " + amount;
+			case SessionCreated -> "Created new session: " + sessionType + " on " + DateUtils.formatDate(dateTime) +
+					" with instructor: " + actorName;
+			case ClientRegisteredToSession -> "Registered client: " + actorName + " to session: " + sessionType +
+					" on " + DateUtils.formatDate(dateTime) + " for price: " + amount;
+			case RegistrationFailed -> "Failed registration: " + text;
+			case SessionMessageSent -> "A message was sent to everyone registered for session " + sessionType + " on " +
+					DateUtils.formatDate(dateTime) + " : " + text;
+			case DateMessageSent -> "A message was sent to everyone registered for a session on " +
+					DateUtils.formatDate(dateTime.toLocalDate()) + " : " + text;
+			case BroadcastSent -> "A message was sent to all gym clients: " + text;
+			case SalariesPaid -> "Salaries have been paid to all employees";
+			case SalariesFailed -> "Failed to pay salaries to all employees";
+			case Custom -> text;
+			case RegistrationCancelled -> "Cancelled registration of client: " + actorName + " to session: " +
+					sessionType + " on " + DateUtils.formatDate(dateTime) + " with refund: " + amount;
+		};
+	}
+
+	public ActionKind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the time the action was recorded, in milliseconds since the epoch.
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public int getActorId() {
+		return actorId;
+	}
+
+	public String getActorName() {
+		return actorName;
+	}
+
+	public int getSessionId() {
+		return sessionId;
+	}
+
+	public SessionType getSessionType() {
+		return sessionType;
+	}
+
+	public LocalDateTime getDateTime() {
+		return dateTime;
+	}
+
+	/**
+	 * @return the money amount of the action (a price or hourly rate), or the number of rejected
+	 * persons for {@code ClientsImported}.
+	 */
+	public long getAmount() {
+		return amount;
+	}
+
+	/**
+	 * @return the number of registered clients for {@code ClientsImported}, otherwise {@code 0}.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public String getText() {
+		return text;
+	}
+}
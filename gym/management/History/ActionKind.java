@@ -0,0 +1,23 @@
+package gym.management.History;
+
+/**
+ * The kinds of actions recorded in the gym's {@link ActionLog}.
+ */
+public enum ActionKind {
+	SecretaryAppointed,
+	ClientRegistered,
+	ClientsImported,
+	ClientUnregistered,
+	InstructorHired,
+	SessionCreated,
+	ClientRegisteredToSession,
+	RegistrationFailed,
+	SessionMessageSent,
+	DateMessageSent,
+	BroadcastSent,
+	SalariesPaid,
+	SalariesFailed,
+	Custom,
+	// New kinds go last, since spilled history stores each kind by its ordinal
+	RegistrationCancelled
+}
@@ -0,0 +1,233 @@
+package gym.management.History;
+
+import gym.management.Sessions.SessionType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, append-only log of {@link ActionEvent}s.
+ *
+ * <p>The most recent events are kept in memory in a ring buffer of fixed capacity. When the buffer
+ * is full, its older half is written out as a binary segment file to the spill directory, so memory
+ * use stays bounded no matter how long the gym runs, while the full history remains readable:
+ * {@link #get(int)} and {@link #forEach(Consumer)} transparently read spilled segments back.</p>
+ *
+ * <p>On the first spill the log creates its own uniquely named subdirectory of the spill directory,
+ * so several logs may share one spill directory, even across restarts. If no spill directory is
+ * given, the subdirectory is created in the system's temporary directory and its files are deleted
+ * when the JVM exits. The log is thread-safe.</p>
+ */
+public class ActionLog {
+	private final ActionEvent[] buffer;
+	private final int segmentSize;
+	private final Path spillRoot;
+	private final boolean temporarySpillDirectory;
+	private Path spillDirectory; // This log's own subdirectory of the spill root, created on the first spill
+	private final List<Path> segments = new ArrayList<>();
+	private int head; // Index in the buffer of the oldest in-memory event
+	private int bufferedCount;
+
+	// The most recently read spilled segment, since readers usually move through the history in order
+	private int cachedSegmentIndex = -1;
+	private List<ActionEvent> cachedSegment;
+
+	private final List<String> renderedView = new RenderedView();
+
+	/**
+	 * @param capacity       the number of events kept in memory (at least 2).
+	 * @param spillDirectory the directory for spilled segments, or {@code null} for a temporary directory.
+	 */
+	public ActionLog(int capacity, Path spillDirectory) {
+		if (capacity < 2) {
+			throw new IllegalArgumentException("Action log capacity must be at least 2");
+		}
+		this.buffer = new ActionEvent[capacity];
+		this.segmentSize = capacity / 2;
+		this.spillRoot = spillDirectory;
+		this.temporarySpillDirectory = spillDirectory == null;
+	}
+
+	/**
+	 * Appends an event, spilling the older half of the in-memory events to disk if the buffer is full.
+	 *
+	 * @param event the event to append.
+	 * @throws UncheckedIOException if spilling to disk fails.
+	 */
+	public synchronized void append(ActionEvent event) {
+		if (bufferedCount == buffer.length) {
+			spillOldestSegment();
+		}
+		buffer[(head + bufferedCount) % buffer.length] = event;
+		bufferedCount++;
+	}
+
+	/**
+	 * @return the total number of events, including spilled ones.
+	 */
+	public synchronized int size() {
+		return segments.size() * segmentSize + bufferedCount;
+	}
+
+	/**
+	 * Returns the event at the given position in the whole history, oldest first.
+	 *
+	 * @param index the position of the event.
+	 * @return the event.
+	 * @throws UncheckedIOException if reading a spilled segment fails.
+	 */
+	public synchronized ActionEvent get(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for action log of size " + size());
+		}
+		int spilledCount = segments.size() * segmentSize;
+		if (index >= spilledCount) {
+			return buffer[(head + index - spilledCount) % buffer.length];
+		}
+		return loadSegment(index / segmentSize).get(index % segmentSize);
+	}
+
+	/**
+	 * Passes every event to the given consumer, oldest first.
+	 *
+	 * @param consumer the consumer of the events.
+	 */
+	public synchronized void forEach(Consumer<ActionEvent> consumer) {
+		for (int i = 0; i < segments.size(); i++) {
+			loadSegment(i).forEach(consumer);
+		}
+		for (int i = 0; i < bufferedCount; i++) {
+			consumer.accept(buffer[(head + i) % buffer.length]);
+		}
+	}
+
+	/**
+	 * Returns a read-only live view of the history as messages. Each message is rendered only when
+	 * it is read.
+	 *
+	 * @return an unmodifiable list of the rendered messages, oldest first.
+	 */
+	public List<String> renderedView() {
+		return renderedView;
+	}
+
+	private void spillOldestSegment() {
+		try {
+			if (spillDirectory == null) {
+				if (temporarySpillDirectory) {
+					spillDirectory = Files.createTempDirectory("gym-history");
+					spillDirectory.toFile().deleteOnExit();
+				} else {
+					Files.createDirectories(spillRoot);
+					spillDirectory = Files.createTempDirectory(spillRoot, "gym-history");
+				}
+			}
+			Path segment = spillDirectory.resolve(String.format("segment-%06d.log", segments.size()));
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+					Files.newOutputStream(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)))) {
+				for (int i = 0; i < segmentSize; i++) {
+					int slot = (head + i) % buffer.length;
+					writeEvent(out, buffer[slot]);
+					buffer[slot] = null;
+				}
+			}
+			if (temporarySpillDirectory) {
+				segment.toFile().deleteOnExit();
+			}
+			segments.add(segment);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to spill the action history to disk", e);
+		}
+		head = (head + segmentSize) % buffer.length;
+		bufferedCount -= segmentSize;
+	}
+
+	private List<ActionEvent> loadSegment(int segmentIndex) {
+		if (segmentIndex != cachedSegmentIndex) {
+			List<ActionEvent> events = new ArrayList<>(segmentSize);
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+					Files.newInputStream(segments.get(segmentIndex))))) {
+				for (int i = 0; i < segmentSize; i++) {
+					events.add(readEvent(in));
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read the action history from disk", e);
+			}
+			cachedSegment = events;
+			cachedSegmentIndex = segmentIndex;
+		}
+		return cachedSegment;
+	}
+
+	private static void writeEvent(DataOutputStream out, ActionEvent event) throws IOException {
+		out.writeByte(event.getKind().ordinal());
+		out.writeLong(event.getTimestamp());
+		out.writeInt(event.getActorId());
+		writeString(out, event.getActorName());
+		out.writeInt(event.getSessionId());
+		out.writeByte(event.getSessionType() == null ? -1 : event.getSessionType().ordinal());
+		out.writeLong(event.getDateTime() == null ? Long.MIN_VALUE : event.getDateTime().toEpochSecond(ZoneOffset.UTC));
+		out.writeLong(event.getAmount());
+		out.writeLong(event.getCount());
+		writeString(out, event.getText());
+	}
+
+	private static ActionEvent readEvent(DataInputStream in) throws IOException {
+		ActionKind kind = ActionKind.values()[in.readByte()];
+		long timestamp = in.readLong();
+		int actorId = in.readInt();
+		String actorName = readString(in);
+		int sessionId = in.readInt();
+		byte sessionType = in.readByte();
+		long dateTime = in.readLong();
+		long amount = in.readLong();
+		long count = in.readLong();
+		String text = readString(in);
+		return new ActionEvent(kind, timestamp, actorId, actorName, sessionId,
+				sessionType < 0 ? null : SessionType.values()[sessionType],
+				dateTime == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(dateTime, 0, ZoneOffset.UTC),
+				amount, count, text);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private class RenderedView extends AbstractList<String> implements RandomAccess {
+		@Override
+		public String get(int index) {
+			return ActionLog.this.get(index).render();
+		}
+
+		@Override
+		public int size() {
+			return ActionLog.this.size();
+		}
+	}
+}
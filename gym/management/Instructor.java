@@ -4,34 +4,84 @@ import gym.customers.Gender;
 import gym.customers.Person;
 import gym.management.Sessions.SessionType;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Instructor extends Person{
 	private final int hourlyRate;
-	private final List<SessionType> qualifications;
+	private final int qualificationMask; // Bit i is set for the session type with ordinal i
+	private final List<SessionType> qualifications; // In the order given, without repeats
 	private int sessionCount;
+	private final PayAccrual payAccrual = new PayAccrual();
 
 	public Instructor(Person person, int hourlyRate, List<SessionType> qualifications) {
 		super(person);
 		this.hourlyRate = hourlyRate;
-		this.qualifications = new ArrayList<>(qualifications);
+		this.qualificationMask = maskOf(qualifications);
+		this.qualifications = distinct(qualifications);
 		this.sessionCount = 0;
 	}
 
 	public Instructor(String name, double Balance, Gender gender, String birthDate, int hourlyRate, List<SessionType> qualifications) {
 		super(name, Balance, gender, birthDate);
 		this.hourlyRate = hourlyRate;
-		this.qualifications = new ArrayList<>(qualifications);
+		this.qualificationMask = maskOf(qualifications);
+		this.qualifications = distinct(qualifications);
 		this.sessionCount = 0;
 	}
 
+	private static int maskOf(List<SessionType> qualifications) {
+		int mask = 0;
+		for (SessionType type : qualifications) {
+			mask |= 1 << type.ordinal();
+		}
+		return mask;
+	}
+
+	private static List<SessionType> distinct(List<SessionType> qualifications) {
+		List<SessionType> distinct = new ArrayList<>(qualifications.size());
+		int seen = 0;
+		for (SessionType type : qualifications) {
+			if ((seen & 1 << type.ordinal()) == 0) {
+				seen |= 1 << type.ordinal();
+				distinct.add(type);
+			}
+		}
+		return Collections.unmodifiableList(distinct);
+	}
+
 	public boolean isQualified(SessionType type) {
-		return qualifications.contains(type);
+		return (qualificationMask & 1 << type.ordinal()) != 0;
 	}
 
+	/**
+	 * Counts a session without a start time; it is due at the next payroll.
+	 */
 	public void addSession() {
 		sessionCount++;
+		payAccrual.accrueUnscheduled();
+	}
+
+	/**
+	 * Counts a session, to be paid for in the pay period it starts in.
+	 *
+	 * @param startTime the session's start time.
+	 */
+	public void addSession(LocalDateTime startTime) {
+		sessionCount++;
+		payAccrual.accrue(PayAccrual.periodOf(startTime));
+	}
+
+	// Takes back a session counted by addSession(LocalDateTime) that the gym then rejected
+	void removeSession(LocalDateTime startTime) {
+		sessionCount--;
+		payAccrual.unaccrue(PayAccrual.periodOf(startTime));
+	}
+
+	void restoreSessionCount(int sessionCount) {
+		this.sessionCount = sessionCount;
 	}
 
 	public int getHourlyRate() {
@@ -40,6 +90,13 @@ public class Instructor extends Person{
 
 	public int getSessionCount() { return sessionCount; }
 
+	public PayAccrual getPayAccrual() {
+		return payAccrual;
+	}
+
+	/**
+	 * @return an unmodifiable list of the session types the instructor is qualified for, in the order they were given.
+	 */
 	public List<SessionType> getQualifications() {
 		return qualifications;
 	}
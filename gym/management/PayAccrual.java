@@ -0,0 +1,150 @@
+package gym.management;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The sessions an instructor has been booked for and not yet paid for, bucketed by monthly pay period.
+ *
+ * <p>Each new session is added to the bucket of the month it starts in, and the running total is
+ * kept alongside the buckets, so the payroll reads an instructor's unpaid sessions without looking
+ * at the sessions themselves. Paying a payroll settles the buckets up to its period, so a session is
+ * paid for exactly once.</p>
+ *
+ * <p>Sessions counted without a start time ({@link Instructor#addSession()}) are unscheduled: they
+ * are due at the next payroll, whatever its period.</p>
+ */
+public class PayAccrual {
+	private static final int NO_PERIOD = Integer.MIN_VALUE; // Encodes a null period
+	private final NavigableMap<YearMonth, Integer> unpaidByPeriod = new TreeMap<>();
+	private int unscheduled;
+	private int unpaid;
+
+	/**
+	 * Returns the pay period a session starting at the given time belongs to.
+	 *
+	 * @param startTime the session's start time.
+	 * @return the session's pay period.
+	 */
+	public static YearMonth periodOf(LocalDateTime startTime) {
+		return YearMonth.from(startTime);
+	}
+
+	// Encodes a period as a month count, for the journal and snapshots
+	static int encode(YearMonth period) {
+		return period == null ? NO_PERIOD : period.getYear() * 12 + period.getMonthValue() - 1;
+	}
+
+	static YearMonth decode(int period) {
+		return period == NO_PERIOD ? null : YearMonth.of(Math.floorDiv(period, 12), Math.floorMod(period, 12) + 1);
+	}
+
+	synchronized void accrue(YearMonth period) {
+		unpaidByPeriod.merge(period, 1, Integer::sum);
+		unpaid++;
+	}
+
+	// Takes back a session accrued for a period, e.g. when the session was rejected by the gym
+	synchronized void unaccrue(YearMonth period) {
+		Integer count = unpaidByPeriod.get(period);
+		if (count == null) {
+			return; // Already settled
+		}
+		if (count == 1) {
+			unpaidByPeriod.remove(period);
+		} else {
+			unpaidByPeriod.put(period, count - 1);
+		}
+		unpaid--;
+	}
+
+	synchronized void accrueUnscheduled() {
+		unscheduled++;
+		unpaid++;
+	}
+
+	/**
+	 * @return the number of sessions not yet paid for, in every period.
+	 */
+	public synchronized int getUnpaidSessions() {
+		return unpaid;
+	}
+
+	/**
+	 * Returns the number of sessions not yet paid for, up to and including a pay period.
+	 *
+	 * @param through the last period to count, or {@code null} to count every period.
+	 * @return the number of unpaid sessions.
+	 */
+	public synchronized int getUnpaidSessions(YearMonth through) {
+		if (through == null || unpaidByPeriod.isEmpty() || !through.isBefore(unpaidByPeriod.lastKey())) {
+			return unpaid;
+		}
+		int sessions = unscheduled;
+		for (int count : unpaidByPeriod.headMap(through, true).values()) {
+			sessions += count;
+		}
+		return sessions;
+	}
+
+	/**
+	 * Marks a number of sessions up to and including a pay period as paid, oldest first: the
+	 * unscheduled sessions, then each period in order.
+	 *
+	 * <p>The number is the one the payroll read when it computed the pay, so a session accrued
+	 * between that read and this call stays unpaid until the next payroll.</p>
+	 *
+	 * @param through  the last period to settle, or {@code null} to settle every period.
+	 * @param sessions the number of sessions that were paid for.
+	 * @return the number of sessions settled.
+	 */
+	synchronized int settle(YearMonth through, int sessions) {
+		int settled = Math.min(sessions, getUnpaidSessions(through));
+		int remaining = settled - Math.min(settled, unscheduled);
+		unscheduled -= settled - remaining;
+		Map<YearMonth, Integer> periods = through == null ? unpaidByPeriod : unpaidByPeriod.headMap(through, true);
+		Iterator<Map.Entry<YearMonth, Integer>> buckets = periods.entrySet().iterator();
+		while (remaining > 0) {
+			Map.Entry<YearMonth, Integer> bucket = buckets.next();
+			if (bucket.getValue() <= remaining) {
+				remaining -= bucket.getValue();
+				buckets.remove();
+			} else {
+				bucket.setValue(bucket.getValue() - remaining);
+				remaining = 0;
+			}
+		}
+		unpaid -= settled;
+		return settled;
+	}
+
+	/**
+	 * @return the number of unscheduled sessions not yet paid for.
+	 */
+	public synchronized int getUnscheduledSessions() {
+		return unscheduled;
+	}
+
+	/**
+	 * @return a copy of the unpaid sessions of each period, in period order.
+	 */
+	public synchronized Map<YearMonth, Integer> getUnpaidByPeriod() {
+		return Collections.unmodifiableMap(new TreeMap<>(unpaidByPeriod));
+	}
+
+	// Replaces the whole state, e.g. when restoring an instructor from a journal or snapshot
+	synchronized void restore(int unscheduled, Map<YearMonth, Integer> unpaidByPeriod) {
+		this.unpaidByPeriod.clear();
+		this.unpaidByPeriod.putAll(unpaidByPeriod);
+		this.unscheduled = unscheduled;
+		this.unpaid = unscheduled;
+		for (int count : unpaidByPeriod.values()) {
+			this.unpaid += count;
+		}
+	}
+}
@@ -0,0 +1,258 @@
+package gym.management.Persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only file of typed binary records, written through memory-mapped regions.
+ *
+ * <p>The file starts with a magic number and a format version. Each record is a 4-byte length, a
+ * 1-byte type and a payload written by a {@link RecordEncoder}. The length is written last, so a record
+ * torn by a crash reads as a zero length, which marks the end of the journal, and is discarded when
+ * the journal is reopened.</p>
+ *
+ * <p>The file grows one region at a time (64 MB by default). A record never spans two regions;
+ * a length of {@code -1} marks the unused tail of a region. Appends are serialized by the journal's
+ * lock and are handed to the operating system as soon as they are written; {@link #sync()} forces
+ * them to the storage device.</p>
+ */
+public class Journal implements Closeable {
+	public static final int DEFAULT_REGION_SIZE = 64 << 20;
+	private static final int MAGIC = 0x47594D4A; // "GYMJ"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 2 * Integer.BYTES;
+	private static final int LENGTH_SIZE = Integer.BYTES;
+	private static final int END_OF_REGION = -1;
+
+	/**
+	 * Writes the payload of a record.
+	 */
+	@FunctionalInterface
+	public interface RecordEncoder {
+		void encode(ByteBuffer buffer);
+	}
+
+	/**
+	 * Reads the records of a journal, in the order they were appended.
+	 */
+	@FunctionalInterface
+	public interface RecordHandler {
+
+		/**
+		 * Handles one record.
+		 *
+		 * @param type    the record's type.
+		 * @param payload the record's payload, positioned at its start.
+		 */
+		void handle(byte type, ByteBuffer payload);
+	}
+
+	private final FileChannel channel;
+	private final int regionSize;
+	private ByteBuffer scratch;
+	private MappedByteBuffer region;
+	private long regionStart;
+	private int regionPosition;
+	private long recordCount;
+
+	private Journal(FileChannel channel, int regionSize) {
+		this.channel = channel;
+		this.regionSize = regionSize;
+		this.scratch = ByteBuffer.allocate(256);
+	}
+
+	/**
+	 * Opens a journal, creating the file if it does not exist.
+	 *
+	 * @param file the journal file.
+	 * @return the open journal, positioned after its last complete record.
+	 * @throws IOException if the file cannot be opened or is not a journal.
+	 */
+	public static Journal open(Path file) throws IOException {
+		return open(file, DEFAULT_REGION_SIZE, null);
+	}
+
+	/**
+	 * Opens a journal, creating the file if it does not exist, and passes every existing record to the handler.
+	 *
+	 * <p>The records are read straight from the mapped file in a single pass, which also finds the
+	 * position where new records will be appended.</p>
+	 *
+	 * @param file       the journal file.
+	 * @param regionSize the size of the mapped regions the file grows by; must be the same every time the file is opened.
+	 * @param handler    the handler for the existing records, or {@code null} to skip them.
+	 * @return the open journal, positioned after its last complete record.
+	 * @throws IOException if the file cannot be opened or is not a journal.
+	 */
+	public static Journal open(Path file, int regionSize, RecordHandler handler) throws IOException {
+		if (regionSize < HEADER_SIZE + LENGTH_SIZE + 1) {
+			throw new IllegalArgumentException("Journal region size is too small: " + regionSize);
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		Journal journal = new Journal(channel, regionSize);
+		try {
+			if (channel.size() == 0) {
+				journal.mapRegion(0);
+				journal.region.putInt(0, MAGIC);
+				journal.region.putInt(Integer.BYTES, VERSION);
+				journal.regionPosition = HEADER_SIZE;
+			} else {
+				journal.readRecords(handler);
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		return journal;
+	}
+
+	// Walks the records from the start of the file and leaves the journal positioned after the last one
+	private void readRecords(RecordHandler handler) throws IOException {
+		long start = 0;
+		while (true) {
+			mapRegion(start);
+			int position = 0;
+			if (start == 0) {
+				if (region.getInt(0) != MAGIC) {
+					throw new IOException("Not a gym journal");
+				}
+				if (region.getInt(Integer.BYTES) != VERSION) {
+					throw new IOException("Unsupported journal version: " + region.getInt(Integer.BYTES));
+				}
+				position = HEADER_SIZE;
+			}
+
+			while (true) {
+				if (position + LENGTH_SIZE > regionSize) {
+					break;
+				}
+				int length = region.getInt(position);
+				if (length == END_OF_REGION) {
+					break;
+				}
+				if (length <= 0 || position + LENGTH_SIZE + length > regionSize) {
+					regionPosition = position; // End of the journal
+					return;
+				}
+				if (handler != null) {
+					ByteBuffer record = region.slice(position + LENGTH_SIZE, length);
+					handler.handle(record.get(), record);
+				}
+				position += LENGTH_SIZE + length;
+				recordCount++;
+			}
+
+			if (start + regionSize >= channel.size()) {
+				mapRegion(start + regionSize);
+				return;
+			}
+			start += regionSize;
+		}
+	}
+
+	private void mapRegion(long start) throws IOException {
+		region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+		regionStart = start;
+		regionPosition = 0;
+	}
+
+	/**
+	 * Appends a record to the journal.
+	 *
+	 * @param type    the record's type.
+	 * @param encoder writes the record's payload.
+	 * @throws IllegalArgumentException if the record does not fit in one region.
+	 * @throws UncheckedIOException     if the file cannot be grown.
+	 */
+	public synchronized void append(byte type, RecordEncoder encoder) {
+		encode(type, encoder);
+		int length = scratch.remaining();
+		if (regionPosition + LENGTH_SIZE + length > regionSize) {
+			if (LENGTH_SIZE + length > regionSize) {
+				throw new IllegalArgumentException("Journal record of " + length + " bytes does not fit in a region");
+			}
+			if (regionPosition + LENGTH_SIZE <= regionSize) {
+				region.putInt(regionPosition, END_OF_REGION);
+			}
+			region.force();
+			try {
+				mapRegion(regionStart + regionSize);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		region.put(regionPosition + LENGTH_SIZE, scratch, 0, length);
+		region.putInt(regionPosition, length); // Written last: the record is complete once its length is set
+		regionPosition += LENGTH_SIZE + length;
+		recordCount++;
+	}
+
+	private void encode(byte type, RecordEncoder encoder) {
+		while (true) {
+			scratch.clear();
+			try {
+				scratch.put(type);
+				encoder.encode(scratch);
+				scratch.flip();
+				return;
+			} catch (BufferOverflowException e) {
+				scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of records in the journal, including those that were there when it was opened.
+	 *
+	 * @return the number of records.
+	 */
+	public synchronized long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Forces the records appended so far to the storage device.
+	 */
+	public synchronized void sync() {
+		region.force();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		region.force();
+		channel.close();
+	}
+
+	/**
+	 * Writes a string as its UTF-8 length followed by its UTF-8 bytes.
+	 *
+	 * @param buffer the buffer to write to.
+	 * @param value  the string to write.
+	 */
+	public static void putString(ByteBuffer buffer, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+	/**
+	 * Reads a string written by {@link #putString(ByteBuffer, String)}.
+	 *
+	 * @param buffer the buffer to read from.
+	 * @return the string.
+	 */
+	public static String getString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
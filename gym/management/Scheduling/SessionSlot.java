@@ -0,0 +1,54 @@
+package gym.management.Scheduling;
+
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.SessionType;
+import gym.management.Strategy.DateUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * A session the gym wants to run, before an instructor has been assigned to it.
+ */
+public final class SessionSlot {
+	private final SessionType type;
+	private final String dateTime;
+	private final LocalDateTime startTime;
+	private final ForumType forum;
+
+	/**
+	 * @param type     the type of the session.
+	 * @param dateTime the date and time of the session, as "dd-MM-yyyy HH:mm".
+	 * @param forum    the forum of the session.
+	 */
+	public SessionSlot(SessionType type, String dateTime, ForumType forum) {
+		this.type = type;
+		this.dateTime = dateTime;
+		this.startTime = DateUtils.parseDateTime(dateTime);
+		this.forum = forum;
+	}
+
+	public SessionType getType() {
+		return type;
+	}
+
+	public String getDateTime() {
+		return dateTime;
+	}
+
+	public LocalDateTime getStartTime() {
+		return startTime;
+	}
+
+	public LocalDateTime getEndTime() {
+		return startTime.plus(type.getDuration());
+	}
+
+	public ForumType getForum() {
+		return forum;
+	}
+
+	@Override
+	public String toString() {
+		return type + " | " + dateTime + " | " + forum;
+	}
+}
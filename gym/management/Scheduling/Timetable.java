@@ -0,0 +1,71 @@
+package gym.management.Scheduling;
+
+import gym.management.Instructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of {@link TimetableGenerator#generate}: the instructor assigned to each slot that
+ * could be filled, and the slots that could not.
+ */
+public final class Timetable {
+	private final List<Assignment> assignments;
+	private final List<SessionSlot> unfilled;
+	private final long totalCost;
+
+	/**
+	 * A slot and the instructor assigned to it.
+	 */
+	public static final class Assignment {
+		private final SessionSlot slot;
+		private final Instructor instructor;
+
+		Assignment(SessionSlot slot, Instructor instructor) {
+			this.slot = slot;
+			this.instructor = instructor;
+		}
+
+		public SessionSlot getSlot() {
+			return slot;
+		}
+
+		public Instructor getInstructor() {
+			return instructor;
+		}
+	}
+
+	Timetable(List<Assignment> assignments, List<SessionSlot> unfilled, long totalCost) {
+		this.assignments = Collections.unmodifiableList(assignments);
+		this.unfilled = Collections.unmodifiableList(unfilled);
+		this.totalCost = totalCost;
+	}
+
+	/**
+	 * @return the filled slots, in the order they were requested.
+	 */
+	public List<Assignment> getAssignments() {
+		return assignments;
+	}
+
+	/**
+	 * @return the slots no qualified instructor was free for, in the order they were requested.
+	 */
+	public List<SessionSlot> getUnfilled() {
+		return unfilled;
+	}
+
+	/**
+	 * @return {@code true} if every slot was filled.
+	 */
+	public boolean isComplete() {
+		return unfilled.isEmpty();
+	}
+
+	/**
+	 * @return the cost of the filled slots, i.e. the sum of their instructors' hourly rates.
+	 */
+	public long getTotalCost() {
+		return totalCost;
+	}
+}
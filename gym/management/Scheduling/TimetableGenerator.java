@@ -0,0 +1,97 @@
+package gym.management.Scheduling;
+
+import gym.management.Gym;
+import gym.management.Instructor;
+import gym.management.Sessions.SessionType;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Assigns the gym's instructors to the sessions it wants to run.
+ *
+ * <p>Every slot gets an instructor who is qualified for its type, who is not booked into an
+ * overlapping session (neither one already in the gym nor one assigned by this run), and who is as
+ * cheap as possible. This is a greedy heuristic rather than an exact solver:</p>
+ * <ul>
+ *   <li>The qualified instructors of each type are sorted by hourly rate once, cheapest first.</li>
+ *   <li>Slots are filled scarcest type first, so the few instructors who can teach a rare type
+ *       are not used up by common ones, then in start order.</li>
+ *   <li>Each slot takes the first candidate who is free. Each check costs O(log n) against the
+ *       instructor's bookings, so a run costs O(s log s + s * k log n) for s slots and at most k
+ *       candidates per type.</li>
+ * </ul>
+ *
+ * <p>The generator only plans: {@link gym.management.Secretary#addSessions(Timetable)} creates the
+ * sessions.</p>
+ */
+public class TimetableGenerator {
+	private final Gym gym;
+
+	public TimetableGenerator(Gym gym) {
+		this.gym = gym;
+	}
+
+	/**
+	 * Plans a timetable for the given slots.
+	 *
+	 * @param demand the sessions to run.
+	 * @return the instructor assigned to each slot, and the slots no one was free for.
+	 */
+	public Timetable generate(List<SessionSlot> demand) {
+		Map<SessionType, List<Instructor>> candidates = candidatesByType();
+		Integer[] order = new Integer[demand.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.<Integer>comparingInt(i -> candidates.get(demand.get(i).getType()).size())
+				.thenComparing(i -> demand.get(i).getStartTime()));
+
+		Instructor[] assigned = new Instructor[demand.size()];
+		Map<Integer, TreeMap<LocalDateTime, LocalDateTime>> planned = new HashMap<>(); // Start to end, per instructor
+		for (int i : order) {
+			SessionSlot slot = demand.get(i);
+			for (Instructor instructor : candidates.get(slot.getType())) {
+				TreeMap<LocalDateTime, LocalDateTime> bookings = planned.computeIfAbsent(instructor.getId(), id -> new TreeMap<>());
+				if (isFree(instructor, slot, bookings)) {
+					bookings.put(slot.getStartTime(), slot.getEndTime());
+					assigned[i] = instructor;
+					break;
+				}
+			}
+		}
+
+		List<Timetable.Assignment> assignments = new ArrayList<>(demand.size());
+		List<SessionSlot> unfilled = new ArrayList<>();
+		long totalCost = 0;
+		for (int i = 0; i < assigned.length; i++) {
+			if (assigned[i] == null) {
+				unfilled.add(demand.get(i));
+			} else {
+				assignments.add(new Timetable.Assignment(demand.get(i), assigned[i]));
+				totalCost += assigned[i].getHourlyRate();
+			}
+		}
+		return new Timetable(assignments, unfilled, totalCost);
+	}
+
+	private Map<SessionType, List<Instructor>> candidatesByType() {
+		Map<SessionType, List<Instructor>> candidates = new EnumMap<>(SessionType.class);
+		for (SessionType type : SessionType.values()) {
+			List<Instructor> qualified = new ArrayList<>(gym.getQualifiedInstructors(type));
+			qualified.sort(Comparator.comparingInt(Instructor::getHourlyRate));
+			candidates.put(type, qualified);
+		}
+		return candidates;
+	}
+
+	private boolean isFree(Instructor instructor, SessionSlot slot, TreeMap<LocalDateTime, LocalDateTime> bookings) {
+		// Planned bookings never overlap each other, so the last one starting before the slot ends
+		// is also the last to end, and the only one that can still be running when the slot starts
+		Map.Entry<LocalDateTime, LocalDateTime> before = bookings.lowerEntry(slot.getEndTime());
+		if (before != null && before.getValue().isAfter(slot.getStartTime())) {
+			return false;
+		}
+		return gym.findOverlappingSession(instructor, slot.getStartTime(), slot.getType()) == null;
+	}
+}
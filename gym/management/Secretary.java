@@ -1,14 +1,22 @@
 package gym.management;
 
 import gym.Exception.*;
+import gym.management.History.ActionEvent;
+import gym.management.Scheduling.SessionSlot;
+import gym.management.Scheduling.Timetable;
+import gym.management.Scheduling.TimetableGenerator;
 import gym.management.Sessions.*;
 import gym.customers.*;
 import gym.management.Strategy.BankManager;
 import gym.management.Strategy.DateUtils;
+import gym.management.Strategy.PayrollSummary;
 import gym.management.Strategy.SalaryManager;
 import gym.management.Strategy.Validation.*;
 import gym.notification.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 /**
@@ -20,14 +28,21 @@ import java.util.*;
  * ensuring adherence to business rules, and keeping track of gym activities.</p>
  */
 public class Secretary extends Person implements NotificationSubject {
-	public static final int LEGAL_AGE = 18;
+	public static final int LEGAL_AGE = AgeBracket.ADULT_AGE;
+	private static final String NO_SPOTS_MESSAGE = "No available spots for session";
+	private static final int NO_SPOTS_RULE = 0; // Index of the full-session rule, the first one added
+	private static final String NOT_ENOUGH_BALANCE_MESSAGE = "Client doesn't have enough balance";
+	private static final String DUPLICATE_SESSION_MESSAGE = "Error: Cannot add duplicate session";
+	private static final String OVERLAPPING_SESSION_MESSAGE = "Error: The instructor is already booked for an overlapping session";
+	private static final String DUPLICATE_REGISTRATION_MESSAGE = "Error: The client is already registered for this lesson";
 
 	private final List<NotificationObserver> observers = new ArrayList<>();
 	private final int salary;
 	private final Gym gym;
 	private boolean isActive;
 	private final BankManager bankManager;
-	private final ValidationRuleSet<RegistrationContext> validationRuleSet;
+	private final EligibilityCache eligibilityCache = EligibilityCache.getInstance();
+	private final CompiledValidator<RegistrationContext> registrationValidator;
 
 	// I allow the constructor to accept a gym object, solely for the tests I have made in the "tests" folder,
 	// apart from that, I recognize that typically a full singleton approach would be implemented here
@@ -42,35 +57,42 @@ public class Secretary extends Person implements NotificationSubject {
 		}
 		this.isActive = true;
 		this.bankManager = BankManager.getInstance();
-		validationRuleSet = new ValidationRuleSet<>();
-		implementGymRegistrationRules();
+		registrationValidator = implementGymRegistrationRules().compile(ValidationMode.CollectAll);
 	}
 
-	private void implementGymRegistrationRules() {
+	// Every failed rule is logged, so all of them are evaluated, cheapest first
+	private ValidationRuleSet<RegistrationContext> implementGymRegistrationRules() {
+		ValidationRuleSet<RegistrationContext> validationRuleSet = new ValidationRuleSet<>();
 		validationRuleSet.addRule(
 				context -> !context.getSession().isFull(),
-				"No available spots for session"
+				NO_SPOTS_MESSAGE,
+				1
 		);
 
 		validationRuleSet.addRule(
-				context -> DateUtils.isDateInFuture(context.getSession().getDateTime()),
-				"Session is not in the future"
+				context -> DateUtils.isDateInFuture(context.getSession().getStartTime()),
+				"Session is not in the future",
+				1
 		);
 
 		validationRuleSet.addRule(
 				context -> ForumValidator.clientMatchesSeniority(context.getSession(), context.getClient()),
-				"Client doesn't meet the age requirements for this session (Seniors)"
+				"Client doesn't meet the age requirements for this session (Seniors)",
+				2
 		);
 
 		validationRuleSet.addRule(
 				context -> ForumValidator.clientMatchesGender(context.getSession(), context.getClient()),
-				"Client's gender doesn't match the session's gender requirements"
+				"Client's gender doesn't match the session's gender requirements",
+				1
 		);
 
 		validationRuleSet.addRule(
 				context -> bankManager.isValidPayment(context.getClient().getId(), context.getSession().getType().getPrice()),
-				"Client doesn't have enough balance"
+				NOT_ENOUGH_BALANCE_MESSAGE,
+				4
 		);
+		return validationRuleSet;
 	}
 
 	@Override
@@ -88,9 +110,7 @@ public class Secretary extends Person implements NotificationSubject {
 	@Override
 	public void notifyObservers(String message) {
 		checkActive();
-		for (NotificationObserver observer : observers) {
-			observer.update(message);
-		}
+		gym.getNotificationDispatcher().dispatch(observers, message);
 	}
 
 	private void checkActive() {
@@ -103,6 +123,11 @@ public class Secretary extends Person implements NotificationSubject {
 		isActive = false;
 	}
 
+	// Registered clients keep receiving gym-wide notifications when a new secretary is appointed
+	void takeOverObservers(Secretary previous) {
+		observers.addAll(previous.observers);
+	}
+
 	/**
 	 * Registers a new client to the gym if they meet the eligibility criteria.
 	 *
@@ -116,20 +141,59 @@ public class Secretary extends Person implements NotificationSubject {
 
 		Client client = new Client(person);
 
-		if (DateUtils.getAge(client.getBirthDate()) < LEGAL_AGE) {
+		if (eligibilityCache.getAgeBracket(client) == AgeBracket.Minor) {
 			throw new InvalidAgeException("Error: Client must be at least 18 years old to register");
 		}
 
-		if (gym.getClients().contains(client)) {
+		if (gym.containsClient(client)) {
 			throw new DuplicateClientException("Error: The client is already registered");
 		}
 
 		gym.addClient(client);
 		observers.add(client);
-		gym.addToHistory(String.format("Registered new client: %s", person.getName()));
+		gym.addToHistory(ActionEvent.clientRegistered(person));
 		return client;
 	}
 
+	/**
+	 * Registers many persons as clients at once, e.g. when onboarding a partner gym.
+	 *
+	 * <p>Applies the same eligibility rules as {@link #registerClient(Person)}, but instead of throwing
+	 * it records an outcome per person: under 18, already registered (with the gym or earlier in the
+	 * same batch), or registered. Duplicates are detected with hash lookups, the new clients and
+	 * observers are appended in one batch, and a single summary entry is written to the history.</p>
+	 *
+	 * @param persons the persons to register.
+	 * @return a report with the outcome for every person and the newly registered clients.
+	 */
+	public ClientImportReport registerClients(Collection<Person> persons) {
+		checkActive();
+
+		List<Person> importedPersons = new ArrayList<>(persons);
+		List<ClientImportReport.Outcome> outcomes = new ArrayList<>(importedPersons.size());
+		List<Client> newClients = new ArrayList<>();
+		Set<Integer> batchIds = new HashSet<>();
+
+		for (Person person : importedPersons) {
+			if (eligibilityCache.getAgeBracket(person) == AgeBracket.Minor) {
+				outcomes.add(ClientImportReport.Outcome.Underage);
+				continue;
+			}
+			Client client = new Client(person);
+			if (gym.containsClient(client) || !batchIds.add(client.getId())) {
+				outcomes.add(ClientImportReport.Outcome.Duplicate);
+				continue;
+			}
+			outcomes.add(ClientImportReport.Outcome.Registered);
+			newClients.add(client);
+		}
+
+		gym.addClients(newClients);
+		observers.addAll(newClients);
+		gym.addToHistory(ActionEvent.clientsImported(newClients.size(), importedPersons.size() - newClients.size()));
+		return new ClientImportReport(importedPersons, outcomes, newClients);
+	}
+
 	/**
 	 * Unregisters a client from the gym.
 	 *
@@ -139,13 +203,14 @@ public class Secretary extends Person implements NotificationSubject {
 	public void unregisterClient(Client client) throws ClientNotRegisteredException {
 		checkActive();
 
-		if (!gym.getClients().contains(client)) {
+		if (!gym.containsClient(client)) {
 			throw new ClientNotRegisteredException("Error: Registration is required before attempting to unregister");
 		}
 
 		gym.removeClient(client);
 		removeObserver(client);
-		gym.addToHistory(String.format("Unregistered client: %s", client.getName()));
+		eligibilityCache.invalidate(client.getId());
+		gym.addToHistory(ActionEvent.clientUnregistered(client));
 	}
 
 	/**
@@ -160,7 +225,7 @@ public class Secretary extends Person implements NotificationSubject {
 			throws  InvalidAgeException, DuplicateClientException {
 		checkActive();
 
-		if (DateUtils.getAge(person.getBirthDate()) < LEGAL_AGE) {
+		if (eligibilityCache.getAgeBracket(person) == AgeBracket.Minor) {
 			throw new InvalidAgeException("Error: Instructor must be at least 18 years old to register");
 		}
 
@@ -172,7 +237,7 @@ public class Secretary extends Person implements NotificationSubject {
 
 		Instructor instructor = new Instructor(person, hourlyRate, qualifications);
 		gym.addInstructor(instructor);
-		gym.addToHistory(String.format("Hired new instructor: %s with salary per hour: %d", person.getName(), hourlyRate));
+		gym.addToHistory(ActionEvent.instructorHired(person, hourlyRate));
 		return instructor;
 	}
 
@@ -183,35 +248,76 @@ public class Secretary extends Person implements NotificationSubject {
 	 * @param datetime   the date and time of the session in "dd-MM-yyyy HH:mm" format.
 	 * @param forum      the forum type for the session.
 	 * @param instructor the instructor conducting the session.
-	 * @return the created {@code Session}.
+	 * @return the created {@code Session}, or {@code null} if the gym already has a session of the same
+	 * type, at the same time, with the same instructor and forum.
 	 * @throws InstructorNotQualifiedException if the instructor is not qualified for the session type.
 	 */
 	public Session addSession(SessionType type, String datetime, ForumType forum, Instructor instructor)
 			throws InstructorNotQualifiedException {
 		checkActive();
 
-		Session session = SessionFactory.createSession(type, datetime, forum, instructor);
-		if(gym.getSessions().contains(session)) {
-			System.out.println("Error: Cannot add duplicate session");
+		// Checked before the session is created, so a rejected session never counts towards the instructor
+		LocalDateTime startTime = DateUtils.parseDateTime(datetime);
+		if (gym.containsSession(new SessionKey(type, startTime, instructor.getId(), forum))) {
+			System.out.println(DUPLICATE_SESSION_MESSAGE);
+			return null;
+		}
+		if (gym.findOverlappingSession(instructor, startTime, type) != null) {
+			System.out.println(OVERLAPPING_SESSION_MESSAGE);
 			return null;
 		}
+		Session session = SessionFactory.createSession(type, datetime, forum, instructor);
 		gym.addSession(session);
-		gym.addToHistory(String.format("Created new session: %s on %s with instructor: %s",
-				type, DateUtils.formatDate(datetime), instructor.getName()));
+		gym.addToHistory(ActionEvent.sessionCreated(session));
 		return session;
 	}
 
+	/**
+	 * Creates the sessions of a timetable planned by a {@link TimetableGenerator}. Slots the timetable
+	 * could not fill are skipped.
+	 *
+	 * @param timetable the timetable to add.
+	 * @return the sessions created, in the timetable's order.
+	 * @throws InstructorNotQualifiedException if an assigned instructor is not qualified for their session.
+	 */
+	public List<Session> addSessions(Timetable timetable) throws InstructorNotQualifiedException {
+		checkActive();
+		List<Session> created = new ArrayList<>(timetable.getAssignments().size());
+		for (Timetable.Assignment assignment : timetable.getAssignments()) {
+			SessionSlot slot = assignment.getSlot();
+			Session session = addSession(slot.getType(), slot.getDateTime(), slot.getForum(), assignment.getInstructor());
+			if (session != null) {
+				created.add(session);
+			}
+		}
+		return created;
+	}
+
 	/**
 	 * Adds an existing session to the gym.
 	 *
+	 * <p>The session already counted towards its instructor when it was created. If it duplicates
+	 * or overlaps one of the gym's sessions it is rejected, and that count is taken back so the
+	 * instructor is not paid for it.</p>
+	 *
 	 * @param session the session to be added.
+	 * @return {@code true} if the session was added, {@code false} if it was rejected.
 	 */
-	public void addSession(Session session)
+	public boolean addSession(Session session)
 		throws InstructorNotQualifiedException {
 			checkActive();
+			Session existing = gym.getSession(session.getKey());
+			if (existing == session) {
+				return false; // Added before; its count belongs to the gym's session
+			}
+			if (existing != null
+					|| gym.findOverlappingSession(session.getInstructor(), session.getStartTime(), session.getType()) != null) {
+				session.getInstructor().removeSession(session.getStartTime());
+				return false;
+			}
 			gym.addSession(session);
-			gym.addToHistory(String.format("Created new session: %s on %s with instructor: %s",
-					session.getType(), DateUtils.formatDate(session.getDateTime()), session.getInstructor().getName()));
+			gym.addToHistory(ActionEvent.sessionCreated(session));
+			return true;
 	}
 
 	/**
@@ -226,32 +332,104 @@ public class Secretary extends Person implements NotificationSubject {
 			throws ClientNotRegisteredException, DuplicateClientException {
 		checkActive();
 
-		RegistrationContext context = new RegistrationContext(client, session);
 		double sessionCost = session.getType().getPrice();
 
-		if (!gym.getClients().contains(client)) {
+		if (!gym.containsClient(client)) {
 			throw new ClientNotRegisteredException("Error: The client is not registered with the gym and cannot enroll in lessons");
 		}
 
 		if (session.hasClient(client)) {
-			throw new DuplicateClientException("Error: The client is already registered for this lesson");
+			throw new DuplicateClientException(DUPLICATE_REGISTRATION_MESSAGE);
 		}
 
-		if (!validationRuleSet.validateAll(context)) {
-			for (String message : validationRuleSet.getFailureMessages()) {
-				gym.addToHistory(String.format("Failed registration: %s", message));
+		ValidationResult result = registrationValidator.validate(new RegistrationContext(client, session));
+		if (!result.isValid()) {
+			for (String message : result.getFailureMessages()) {
+				gym.addToHistory(ActionEvent.registrationFailed(client, session, message));
+			}
+			// A client who only lacks a seat waits for one instead of retrying
+			if (result.getFailedRules() == 1L << NO_SPOTS_RULE) {
+				joinWaitlist(client, session);
 			}
 			return;
 		}
 
-		client.withdraw(sessionCost);
-		gym.deposit(sessionCost);
-		session.addClient(client);
+		// The checks above can be overtaken by concurrent bookings, so the seat and the payment
+		// are taken together and re-checked atomically
+		ReservationStatus status = gym.reserveSeatAndCharge(client, session);
+		if (status == ReservationStatus.AlreadyRegistered) {
+			throw new DuplicateClientException(DUPLICATE_REGISTRATION_MESSAGE);
+		}
+		if (status != ReservationStatus.Reserved) {
+			gym.addToHistory(ActionEvent.registrationFailed(client, session,
+					status == ReservationStatus.SessionFull ? NO_SPOTS_MESSAGE : NOT_ENOUGH_BALANCE_MESSAGE));
+			if (status == ReservationStatus.SessionFull) {
+				joinWaitlist(client, session);
+			}
+			return;
+		}
 
-		gym.addToHistory(String.format(
-				"Registered client: %s to session: %s on %s for price: %d",
-				client.getName(), session.getType(), DateUtils.formatDate(session.getDateTime()), (int)sessionCost
-		));
+		// A seat that freed up before the client's turn came replaces their place on the waitlist
+		session.getWaitlist().remove(client);
+		gym.addToHistory(ActionEvent.clientRegisteredToSession(client, session, (int)sessionCost));
+	}
+
+	private void joinWaitlist(Client client, Session session) {
+		if (session.getWaitlist().offer(client)) {
+			notifyClient(client, "You are on the waitlist for session " + session.getType() + " on " +
+					session.getFormattedDateTime());
+		}
+	}
+
+	// Sends a message to one client, through the journal like every other notification
+	private void notifyClient(Client client, String message) {
+		gym.getNotificationDispatcher().dispatch(List.of(client), message);
+		gym.recordClientNotification(client, message);
+	}
+
+	/**
+	 * Cancels a client's registration to a session and refunds its price. The freed seat goes to the
+	 * first client on the session's waitlist who can still pay for it, who is charged and notified.
+	 * A client who is only on the waitlist is taken off it.
+	 *
+	 * @param client  the client cancelling.
+	 * @param session the session to cancel.
+	 * @return {@code true} if the client held a seat or a place on the waitlist.
+	 */
+	public boolean cancelRegistration(Client client, Session session) {
+		checkActive();
+
+		if (session.getWaitlist().remove(client)) {
+			return true;
+		}
+		if (!gym.releaseSeatAndRefund(client, session)) {
+			return false;
+		}
+		gym.addToHistory(ActionEvent.registrationCancelled(client, session, session.getType().getPrice()));
+		promoteFromWaitlist(session);
+		return true;
+	}
+
+	private void promoteFromWaitlist(Session session) {
+		SessionWaitlist waitlist = session.getWaitlist();
+		Client next;
+		while ((next = waitlist.poll()) != null) {
+			if (!gym.containsClient(next)) {
+				continue; // Unregistered while waiting
+			}
+			ReservationStatus status = gym.reserveSeatAndCharge(next, session);
+			if (status == ReservationStatus.Reserved) {
+				gym.addToHistory(ActionEvent.clientRegisteredToSession(next, session, session.getType().getPrice()));
+				notifyClient(next, "A seat has opened up for you in session " + session.getType() + " on " +
+						session.getFormattedDateTime());
+				return;
+			}
+			if (status == ReservationStatus.SessionFull) {
+				waitlist.restore(next); // Another booking took the seat first; keep the client's turn
+				return;
+			}
+			// Already registered, or can no longer pay: the seat goes to the next client
+		}
 	}
 
 
@@ -264,11 +442,9 @@ public class Secretary extends Person implements NotificationSubject {
 	 */
 	public void notify(Session session, String message) {
 		checkActive();
-		for (Client client : session.getClients()) {
-			client.addNotification(message);
-		}
-		gym.addToHistory(String.format("A message was sent to everyone registered for session %s on %s : %s",
-				session.getType(), DateUtils.formatDate(session.getDateTime()), message));
+		gym.getNotificationDispatcher().dispatch(session.getClients(), message);
+		gym.recordSessionNotification(session, message);
+		gym.addToHistory(ActionEvent.sessionMessageSent(session, message));
 	}
 
 	/**
@@ -279,46 +455,55 @@ public class Secretary extends Person implements NotificationSubject {
 	 */
 	public void notify(String date, String message) {
 		checkActive();
-		boolean messageSent = false;
-		for (Session session : gym.getSessions()) {
-			if (session.getDateTime().startsWith(date)) {
-				for (Client client : session.getClients()) {
-					client.addNotification(message);
-				}
-				messageSent = true;
-			}
+		LocalDate day = DateUtils.parseDate(date);
+		List<Session> sessionsOnDate = gym.getSessionsOn(day);
+		for (Session session : sessionsOnDate) {
+			gym.getNotificationDispatcher().dispatch(session.getClients(), message);
 		}
-		if (messageSent) {
-			gym.addToHistory(String.format("A message was sent to everyone registered for a session on %s : %s",
-					DateUtils.formatDate(date), message));
+		if (!sessionsOnDate.isEmpty()) {
+			gym.recordDateNotification(day, message);
+			gym.addToHistory(ActionEvent.dateMessageSent(day, message));
 		}
 	}
 
 	/**
 	 * Sends a notification to all registered gym clients.
 	 *
+	 * <p>Like the other notifications, it is delivered by the gym's
+	 * {@link Gym#getNotificationDispatcher() notification dispatcher}.</p>
+	 *
 	 * @param message the message to send.
 	 */
 	public void notify(String message) {
 		checkActive();
 		notifyObservers(message);
-		gym.addToHistory(String.format("A message was sent to all gym clients: %s", message));
+		gym.recordBroadcast(message);
+		gym.addToHistory(ActionEvent.broadcastSent(message));
 	}
 
 	/**
-	 * Pays salaries to the secretary and all instructors.
+	 * Pays salaries to the secretary and all instructors, as one atomic payroll run.
+	 * Instructors are paid for every session they have not been paid for yet.
+	 *
+	 * @return the summary of the run.
 	 */
-	public void paySalaries() {
-		checkActive();
-		List<Person> staff = new ArrayList<>();
-		staff.add(this);
-		staff.addAll(gym.getInstructors());
+	public PayrollSummary paySalaries() {
+		return paySalaries(null);
+	}
 
-		if (SalaryManager.paySalaries(gym, staff)) {
-			gym.addToHistory("Salaries have been paid to all employees");
-		} else {
-			gym.addToHistory("Failed to pay salaries to all employees");
-		}
+	/**
+	 * Pays salaries to the secretary and all instructors, as one atomic payroll run.
+	 * Instructors are paid for their unpaid sessions up to and including the given pay period.
+	 *
+	 * @param through the last pay period to pay sessions for, or {@code null} for every period.
+	 * @return the summary of the run.
+	 * @see SalaryManager#runPayroll(Gym, Secretary, java.util.Collection, YearMonth)
+	 */
+	public PayrollSummary paySalaries(YearMonth through) {
+		checkActive();
+		PayrollSummary summary = SalaryManager.runPayroll(gym, this, gym.getInstructors(), through);
+		gym.addToHistory(ActionEvent.salariesPaid(summary.isPaid()));
+		return summary;
 	}
 
 	/**
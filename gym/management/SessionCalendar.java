@@ -0,0 +1,103 @@
+package gym.management;
+
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionConflict;
+import gym.management.Sessions.SessionType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Indexes the gym's sessions by calendar day.
+ *
+ * <p>Sessions are bucketed per day in a sorted map, both for the whole gym and per instructor,
+ * so looking up a single day or a range of days costs O(log n + k) for k matching sessions
+ * instead of a scan over the whole timetable. Within a day, sessions keep the order in which
+ * they were added.</p>
+ *
+ * <p>Each instructor's sessions are also sorted by start time. Since no session lasts longer than
+ * {@link SessionType#MAX_DURATION}, only the sessions starting within that long before a new
+ * session can still be running when it starts, so an overlap check costs O(log n + k) for the k
+ * sessions starting in that window.</p>
+ */
+class SessionCalendar {
+	private final TreeMap<LocalDate, List<Session>> sessionsByDay = new TreeMap<>();
+	private final Map<Integer, TreeMap<LocalDate, List<Session>>> sessionsByInstructor = new HashMap<>();
+	private final Map<Integer, TreeMap<LocalDateTime, List<Session>>> startsByInstructor = new HashMap<>();
+
+	void add(Session session) {
+		LocalDate day = session.getStartTime().toLocalDate();
+		sessionsByDay.computeIfAbsent(day, d -> new ArrayList<>()).add(session);
+		sessionsByInstructor.computeIfAbsent(session.getInstructor().getId(), id -> new TreeMap<>())
+				.computeIfAbsent(day, d -> new ArrayList<>()).add(session);
+		startsByInstructor.computeIfAbsent(session.getInstructor().getId(), id -> new TreeMap<>())
+				.computeIfAbsent(session.getStartTime(), t -> new ArrayList<>(1)).add(session);
+	}
+
+	Session findOverlapping(Instructor instructor, LocalDateTime start, Duration duration) {
+		TreeMap<LocalDateTime, List<Session>> starts = startsByInstructor.get(instructor.getId());
+		if (starts == null) {
+			return null;
+		}
+		// A session starting exactly MAX_DURATION earlier has already ended
+		LocalDateTime end = start.plus(duration);
+		for (List<Session> sameStart : starts.subMap(start.minus(SessionType.MAX_DURATION), false, end, false).values()) {
+			for (Session session : sameStart) {
+				if (session.getEndTime().isAfter(start)) {
+					return session;
+				}
+			}
+		}
+		return null;
+	}
+
+	// Sweeps each instructor's sessions in start order, remembering the one that runs the longest so far
+	List<SessionConflict> findConflicts() {
+		List<SessionConflict> conflicts = new ArrayList<>();
+		for (TreeMap<LocalDateTime, List<Session>> starts : startsByInstructor.values()) {
+			Session running = null;
+			for (List<Session> sameStart : starts.values()) {
+				for (Session session : sameStart) {
+					if (running != null && running.getEndTime().isAfter(session.getStartTime())) {
+						conflicts.add(new SessionConflict(running, session));
+						if (!session.getEndTime().isAfter(running.getEndTime())) {
+							continue;
+						}
+					}
+					running = session;
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	List<Session> getSessionsOn(LocalDate day) {
+		List<Session> sessions = sessionsByDay.get(day);
+		return sessions == null ? Collections.emptyList() : Collections.unmodifiableList(sessions);
+	}
+
+	List<Session> getSessionsBetween(LocalDate from, LocalDate to) {
+		return collect(sessionsByDay, from, to);
+	}
+
+	List<Session> getSessionsBetween(Instructor instructor, LocalDate from, LocalDate to) {
+		TreeMap<LocalDate, List<Session>> instructorDays = sessionsByInstructor.get(instructor.getId());
+		if (instructorDays == null) {
+			return Collections.emptyList();
+		}
+		return collect(instructorDays, from, to);
+	}
+
+	private static List<Session> collect(TreeMap<LocalDate, List<Session>> days, LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			return Collections.emptyList();
+		}
+		List<Session> result = new ArrayList<>();
+		for (List<Session> daySessions : days.subMap(from, true, to, true).values()) {
+			result.addAll(daySessions);
+		}
+		return result;
+	}
+}
@@ -7,4 +7,8 @@ public class MachinePilatesSession extends  Session{
 		super(SessionType.MachinePilates, dateTime, forum, instructor);
 	}
 
+	MachinePilatesSession(int id, String dateTime, ForumType forum, Instructor instructor) {
+		super(id, SessionType.MachinePilates, dateTime, forum, instructor);
+	}
+
 }
@@ -7,4 +7,8 @@ public class NinjaSession extends Session {
 		super(SessionType.Ninja, dateTime, forum, instructor);
 	}
 
+	NinjaSession(int id, String dateTime, ForumType forum, Instructor instructor) {
+		super(id, SessionType.Ninja, dateTime, forum, instructor);
+	}
+
 }
@@ -6,4 +6,8 @@ public class PilatesSession extends Session {
 	public PilatesSession(String dateTime, ForumType forum, Instructor instructor) {
 		super(SessionType.Pilates, dateTime, forum, instructor);
 	}
+
+	PilatesSession(int id, String dateTime, ForumType forum, Instructor instructor) {
+		super(id, SessionType.Pilates, dateTime, forum, instructor);
+	}
 }
@@ -0,0 +1,8 @@
+package gym.management.Sessions;
+
+/**
+ * The outcome of an attempt to reserve a seat in a session.
+ */
+public enum ReservationStatus {
+	Reserved, AlreadyRegistered, SessionFull, InsufficientBalance
+}
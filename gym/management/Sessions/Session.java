@@ -2,23 +2,56 @@ package gym.management.Sessions;
 
 import gym.customers.*;
 import gym.management.Instructor;
+import gym.management.Strategy.DateUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Session {
+	private static final AtomicInteger nextId = new AtomicInteger(1);
+	private final int id;
 	private final SessionType type;
 	private final String dateTime;
+	private final LocalDateTime startTime;
+	private final String formattedDateTime;
 	private final ForumType forum;
 	private final Instructor instructor;
-	private final List<Client> clients;
+	// Seats are claimed lock-free: a CAS on the seat counter first, then the roster entry by client ID,
+	// so the roster can never hold more clients than the session's capacity
+	private final AtomicInteger occupiedSeats;
+	private final Map<Integer, Client> clients;
+	private final Collection<Client> clientsView;
+	private final SessionWaitlist waitlist;
 
 	public Session(SessionType type, String dateTime, ForumType forum, Instructor instructor) {
+		this(nextId.getAndIncrement(), type, dateTime, forum, instructor);
+		instructor.addSession(startTime);
+	}
+
+	/**
+	 * Recreates a session with a known ID, e.g. when restoring a gym from its journal or a snapshot.
+	 * Unlike a new session, it does not count towards the instructor's sessions.
+	 * Sessions created afterwards are numbered after the restored ID.
+	 */
+	protected Session(int id, SessionType type, String dateTime, ForumType forum, Instructor instructor) {
+		nextId.accumulateAndGet(id + 1, Math::max);
+		this.id = id;
 		this.type = type;
 		this.dateTime = dateTime;
+		this.startTime = DateUtils.parseDateTime(dateTime);
+		this.formattedDateTime = DateUtils.formatDate(startTime);
 		this.forum = forum;
 		this.instructor = instructor;
-		this.clients = new ArrayList<>();
-		instructor.addSession();
+		this.occupiedSeats = new AtomicInteger();
+		this.clients = new ConcurrentHashMap<>();
+		this.clientsView = Collections.unmodifiableCollection(clients.values());
+		this.waitlist = new SessionWaitlist(type.getCapacity());
+	}
+
+	public int getId() {
+		return id;
 	}
 
 	public SessionType getType() {
@@ -29,22 +62,101 @@ public abstract class Session {
 		return dateTime;
 	}
 
+	public LocalDateTime getStartTime() {
+		return startTime;
+	}
+
+	public LocalDateTime getEndTime() {
+		return startTime.plus(type.getDuration());
+	}
+
+	public SessionKey getKey() {
+		return new SessionKey(type, startTime, instructor.getId(), forum);
+	}
+
+	/**
+	 * Returns the session's start time in the ISO 8601 style used by the action history
+	 * (yyyy-MM-dd'T'HH:mm). The string is formatted once, when the session is created.
+	 *
+	 * @return the formatted start time.
+	 */
+	public String getFormattedDateTime() {
+		return formattedDateTime;
+	}
+
 	public boolean isFull() {
-		return clients.size() >= type.getCapacity();
+		return occupiedSeats.get() >= type.getCapacity();
 	}
 
 	public boolean hasClient(Client client) {
-		return clients.contains(client);
+		return clients.containsKey(client.getId());
 	}
 
 	public void addClient(Client client) {
-		if (!isFull()) {
-			clients.add(client);
+		reserveSeat(client);
+	}
+
+	/**
+	 * Atomically checks that the session has a free seat and that the client does not already
+	 * hold one, and if so gives the client a seat.
+	 *
+	 * <p>This method never blocks: a seat is claimed with a compare-and-set on the seat counter,
+	 * then recorded under the client's ID. Any number of threads may race for the same session
+	 * without exceeding its capacity or seating a client twice.</p>
+	 *
+	 * @param client the client to seat.
+	 * @return {@code Reserved} if the client was seated, otherwise {@code AlreadyRegistered} or {@code SessionFull}.
+	 */
+	public ReservationStatus reserveSeat(Client client) {
+		if (clients.containsKey(client.getId())) {
+			return ReservationStatus.AlreadyRegistered;
+		}
+
+		int seats;
+		do {
+			seats = occupiedSeats.get();
+			if (seats >= type.getCapacity()) {
+				return ReservationStatus.SessionFull;
+			}
+		} while (!occupiedSeats.compareAndSet(seats, seats + 1));
+
+		if (clients.putIfAbsent(client.getId(), client) != null) {
+			occupiedSeats.decrementAndGet(); // Lost a race against the same client booking concurrently
+			return ReservationStatus.AlreadyRegistered;
 		}
+		return ReservationStatus.Reserved;
+	}
+
+	/**
+	 * Gives up the client's seat, if they hold one.
+	 *
+	 * @param client the client whose seat is released.
+	 * @return {@code true} if the client held a seat.
+	 */
+	public boolean releaseSeat(Client client) {
+		if (clients.remove(client.getId()) != null) {
+			occupiedSeats.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the clients waiting for a seat, which holds at most as many clients as the session has seats.
+	 *
+	 * @return the session's waitlist.
+	 */
+	public SessionWaitlist getWaitlist() {
+		return waitlist;
 	}
 
-	public List<Client> getClients() {
-		return new ArrayList<>(clients);
+	/**
+	 * Returns a read-only live view of the clients registered for this session.
+	 *
+	 * @return an unmodifiable view of the session's clients.
+	 */
+	public Collection<Client> getClients() {
+		return clientsView;
 	}
 
 	public Instructor getInstructor() {
@@ -0,0 +1,34 @@
+package gym.management.Sessions;
+
+/**
+ * Two sessions that overlap in time and have the same instructor.
+ */
+public final class SessionConflict {
+	private final Session first;
+	private final Session second;
+
+	public SessionConflict(Session first, Session second) {
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * @return the session that starts first.
+	 */
+	public Session getFirst() {
+		return first;
+	}
+
+	/**
+	 * @return the session that starts while the first one is still running.
+	 */
+	public Session getSecond() {
+		return second;
+	}
+
+	@Override
+	public String toString() {
+		return "Conflict: " + first.getInstructor().getName() + " | " + first.getType() + " " + first.getDateTime()
+				+ " overlaps " + second.getType() + " " + second.getDateTime();
+	}
+}
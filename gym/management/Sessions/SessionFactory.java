@@ -42,4 +42,26 @@ public class SessionFactory {
 			default -> throw new IllegalArgumentException("Unsupported session type: " + type);
 		};
 	}
+
+	/**
+	 * Recreates a session that was created before, with its original ID, e.g. when restoring a gym
+	 * from its journal or a snapshot. The instructor's qualifications were checked when the session was
+	 * first created, so they are not checked again, and the session does not count towards the
+	 * instructor's sessions a second time.
+	 *
+	 * @param id         the session's original ID.
+	 * @param type       the type of the session.
+	 * @param dateTime   the date and time of the session as a string.
+	 * @param forum      the forum type of the session.
+	 * @param instructor the instructor conducting the session.
+	 * @return the restored {@link Session}.
+	 */
+	public static Session restoreSession(int id, SessionType type, String dateTime, ForumType forum, Instructor instructor) {
+		return switch (type) {
+			case Pilates -> new PilatesSession(id, dateTime, forum, instructor);
+			case MachinePilates -> new MachinePilatesSession(id, dateTime, forum, instructor);
+			case ThaiBoxing -> new ThaiBoxingSession(id, dateTime, forum, instructor);
+			case Ninja -> new NinjaSession(id, dateTime, forum, instructor);
+		};
+	}
 }
\ No newline at end of file
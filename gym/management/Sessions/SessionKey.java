@@ -0,0 +1,41 @@
+package gym.management.Sessions;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Identifies a session by what it is rather than by its ID: its type, start time, instructor and forum.
+ * Two sessions with the same key are duplicates.
+ */
+public final class SessionKey {
+	private final SessionType type;
+	private final LocalDateTime startTime;
+	private final int instructorId;
+	private final ForumType forum;
+
+	public SessionKey(SessionType type, LocalDateTime startTime, int instructorId, ForumType forum) {
+		this.type = type;
+		this.startTime = startTime;
+		this.instructorId = instructorId;
+		this.forum = forum;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof SessionKey other)) {
+			return false;
+		}
+
+		return type == other.type && instructorId == other.instructorId && forum == other.forum
+				&& startTime.equals(other.startTime);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, startTime, instructorId, forum);
+	}
+}
@@ -1,19 +1,39 @@
 package gym.management.Sessions;
 
+import java.time.Duration;
+
 public enum SessionType {
-	Pilates(60, 30),
-	MachinePilates(80, 10),
-	ThaiBoxing(100, 20),
-	Ninja(150, 5);
+	Pilates(60, 30, 60),
+	MachinePilates(80, 10, 60),
+	ThaiBoxing(100, 20, 90),
+	Ninja(150, 5, 60);
+
+	/**
+	 * The duration of the longest session type.
+	 */
+	public static final Duration MAX_DURATION;
+
+	static {
+		Duration longest = Duration.ZERO;
+		for (SessionType type : values()) {
+			if (type.duration.compareTo(longest) > 0) {
+				longest = type.duration;
+			}
+		}
+		MAX_DURATION = longest;
+	}
 
 	private final int price;
 	private final int capacity;
+	private final Duration duration;
 
-	SessionType(int price, int capacity) {
+	SessionType(int price, int capacity, int durationMinutes) {
 		this.price = price;
 		this.capacity = capacity;
+		this.duration = Duration.ofMinutes(durationMinutes);
 	}
 
 	public int getPrice() { return price; }
 	public int getCapacity() { return capacity; }
+	public Duration getDuration() { return duration; }
 }
@@ -0,0 +1,133 @@
+package gym.management.Sessions;
+
+import gym.customers.Client;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The clients waiting for a seat in a full session, first come first served.
+ *
+ * <p>Like the seats themselves, the waitlist never blocks: clients are queued on a lock-free
+ * deque, its size is bounded with a compare-and-set on a counter, and each client's place is
+ * recorded under their ID, so joining and being promoted cost O(1) however many threads use the
+ * waitlist at once. A client who leaves is unlinked from the deque as well, in O(capacity), so the
+ * deque never holds more than {@code capacity} places plus those of leaves still in progress.</p>
+ */
+public class SessionWaitlist {
+	private final int capacity;
+	private final Deque<Place> queue = new ConcurrentLinkedDeque<>();
+	private final Map<Integer, Place> places = new ConcurrentHashMap<>(); // The current place of each waiting client
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * A client's place in the queue. A client who leaves and joins again gets a new place, so the
+	 * stale entry of their first place is not mistaken for the new one.
+	 */
+	private static final class Place {
+		private final Client client;
+
+		Place(Client client) {
+			this.client = client;
+		}
+	}
+
+	/**
+	 * @param capacity the largest number of clients that may wait at once.
+	 */
+	public SessionWaitlist(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Waitlist capacity cannot be negative");
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a client to the back of the waitlist.
+	 *
+	 * @param client the client to add.
+	 * @return {@code true} if the client was added, {@code false} if they are already waiting or the waitlist is full.
+	 */
+	public boolean offer(Client client) {
+		Place place = new Place(client);
+		if (places.putIfAbsent(client.getId(), place) != null) {
+			return false;
+		}
+		int waiting;
+		do {
+			waiting = size.get();
+			if (waiting >= capacity) {
+				places.remove(client.getId(), place);
+				return false;
+			}
+		} while (!size.compareAndSet(waiting, waiting + 1));
+		queue.offerLast(place);
+		return true;
+	}
+
+	/**
+	 * Removes and returns the client at the front of the waitlist.
+	 *
+	 * @return the client who has waited the longest, or {@code null} if no one is waiting.
+	 */
+	public Client poll() {
+		// Skips places whose client left while the place was being polled
+		Place place;
+		while ((place = queue.pollFirst()) != null) {
+			if (places.remove(place.client.getId(), place)) {
+				size.decrementAndGet();
+				return place.client;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Puts a client taken with {@link #poll()} back at the front of the waitlist, e.g. when the seat
+	 * they were promoted to was taken first by someone else. The capacity is not checked, since the
+	 * client held a place a moment ago.
+	 *
+	 * @param client the client to put back.
+	 * @return {@code true} if the client was put back, {@code false} if they joined the waitlist again meanwhile.
+	 */
+	public boolean restore(Client client) {
+		Place place = new Place(client);
+		if (places.putIfAbsent(client.getId(), place) != null) {
+			return false;
+		}
+		size.incrementAndGet();
+		queue.offerFirst(place);
+		return true;
+	}
+
+	/**
+	 * Removes a client from the waitlist, wherever they are in it.
+	 *
+	 * @param client the client to remove.
+	 * @return {@code true} if the client was waiting.
+	 */
+	public boolean remove(Client client) {
+		Place place = places.remove(client.getId());
+		if (place == null) {
+			return false;
+		}
+		size.decrementAndGet();
+		queue.removeFirstOccurrence(place); // A concurrent poll may have unlinked it already
+		return true;
+	}
+
+	public boolean contains(Client client) {
+		return places.containsKey(client.getId());
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+}
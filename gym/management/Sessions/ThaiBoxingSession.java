@@ -6,4 +6,8 @@ public class ThaiBoxingSession extends Session {
 	public ThaiBoxingSession(String dateTime, ForumType forum, Instructor instructor) {
 		super(SessionType.ThaiBoxing, dateTime, forum, instructor);
 	}
+
+	ThaiBoxingSession(int id, String dateTime, ForumType forum, Instructor instructor) {
+		super(id, SessionType.ThaiBoxing, dateTime, forum, instructor);
+	}
 }
@@ -0,0 +1,38 @@
+package gym.management.Strategy;
+
+/**
+ * Storage engine for account balances, used by {@link BankManager}.
+ *
+ * <p>Balances are held as whole minor units (cents), so all arithmetic on them is exact.
+ * Implementations must allow concurrent access to different accounts; concurrent updates of
+ * the same account are serialized by the {@code BankManager}'s account locks.</p>
+ */
+public interface AccountStore {
+	/**
+	 * Creates the account, or replaces its balance if it already exists.
+	 *
+	 * @param accountId the unique ID of the account.
+	 * @param balance   the balance in minor units.
+	 */
+	void put(int accountId, long balance);
+
+	/**
+	 * Retrieves the balance of an existing account.
+	 *
+	 * @param accountId the unique ID of the account.
+	 * @return the balance in minor units.
+	 * @throws IllegalArgumentException if no account has the given ID.
+	 */
+	long get(int accountId);
+
+	/**
+	 * @param accountId the unique ID of the account.
+	 * @return {@code true} if an account with the given ID exists, {@code false} otherwise.
+	 */
+	boolean contains(int accountId);
+
+	/**
+	 * @return the number of accounts in the store.
+	 */
+	int size();
+}
@@ -0,0 +1,20 @@
+package gym.management.Strategy;
+
+/**
+ * Receives every change to an account balance made through the {@link BankManager}.
+ *
+ * <p>The listener is called while the account's lock is held, so the changes to any one account are
+ * reported in the order they were made. Implementations must be quick and must not call back into
+ * the {@code BankManager}.</p>
+ */
+@FunctionalInterface
+public interface BalanceListener {
+
+	/**
+	 * Called after an account's balance has been set or changed.
+	 *
+	 * @param accountId  the ID of the account.
+	 * @param minorUnits the account's new balance, in minor units (cents).
+	 */
+	void balanceChanged(int accountId, long minorUnits);
+}
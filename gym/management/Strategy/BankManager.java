@@ -1,6 +1,9 @@
 package gym.management.Strategy;
 
-import java.util.*;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
 
 /**
  * The {@code BankManager} class provides functionality to manage financial accounts
@@ -11,6 +14,22 @@ import java.util.*;
  * creating accounts, performing deposits and withdrawals, checking balances, and
  * validating payments.</p>
  *
+ * <p>Balances are held as whole minor units (cents) in an {@link AccountStore}, so the arithmetic
+ * is exact; amounts are converted at the API boundary. The store defaults to the allocation-free
+ * {@link PrimitiveAccountStore}, and the boxed {@link MapAccountStore} can be selected with
+ * {@code -Dgym.bank.store=map}.</p>
+ *
+ * <p>The {@code BankManager} is safe to use from multiple threads. Every access to an account is
+ * guarded by one of a fixed set of striped locks, chosen by account ID, so operations on unrelated
+ * accounts rarely contend.
+ * {@link #transfer(int, int, double)} locks both accounts' stripes in a fixed order and moves
+ * the funds atomically, and {@link #transferBatch} does the same for a whole batch of payments.</p>
+ *
+ * <p>A {@link BalanceListener} can be registered to be told of every balance change, e.g. to journal
+ * them; it is called under the account's lock, after the change. A transfer may instead be given its own
+ * {@link PostingListener}, which is told of all the new balances at once, so that they can be recorded
+ * together with the operation the transfer belongs to.</p>
+ *
  * <p>Usage Example:</p>
  * <pre>
  * BankManager bankManager = BankManager.getInstance();
@@ -20,17 +39,28 @@ import java.util.*;
  * </pre>
  */
 public class BankManager {
-	private static final Random rand = new Random();
-	private final Set<Integer> usedIds = new HashSet<>();
-	private static BankManager instance = null;
-	private final Map<Integer, Double> accountBalances;
+	private static final int LOCK_STRIPES = 64; // Must be a power of two, and at most 64 so a set of stripes fits a long
+	public static final int MINOR_UNITS_PER_UNIT = 100;
+	private final Set<Integer> usedIds = ConcurrentHashMap.newKeySet();
+	private final AccountStore accountBalances;
+	private final Object[] locks;
+	private volatile BalanceListener balanceListener;
 
 	/**
 	 * Private constructor to enforce the singleton pattern.
-	 * Initializes the internal accountBalances map.
+	 * Initializes the account store selected by the {@code gym.bank.store} property and the lock stripes.
 	 */
 	private BankManager() {
-		accountBalances = new HashMap<>();
+		accountBalances = createAccountStore(System.getProperty("gym.bank.store", "primitive"));
+		locks = new Object[LOCK_STRIPES];
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	// Initialized on first access by the class loader, which makes getInstance() thread-safe without locking
+	private static class InstanceHolder {
+		private static final BankManager INSTANCE = new BankManager();
 	}
 
 	/**
@@ -39,10 +69,49 @@ public class BankManager {
 	 * @return the singleton instance of the {@code BankManager}.
 	 */
 	public static BankManager getInstance() {
-		if (instance == null) {
-			instance = new BankManager();
+		return InstanceHolder.INSTANCE;
+	}
+
+	private static AccountStore createAccountStore(String storeType) {
+		return switch (storeType) {
+			case "primitive" -> new PrimitiveAccountStore();
+			case "map" -> new MapAccountStore();
+			default -> throw new IllegalArgumentException("Unknown account store: " + storeType);
+		};
+	}
+
+	private int stripeOf(int personId) {
+		return (personId ^ (personId >>> 16)) & (LOCK_STRIPES - 1);
+	}
+
+	private static long toMinorUnits(double amount) {
+		return Math.round(amount * MINOR_UNITS_PER_UNIT);
+	}
+
+	private static double toAmount(long minorUnits) {
+		return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+	}
+
+	/**
+	 * Registers the listener that is told of every balance change, replacing any previous one.
+	 *
+	 * @param balanceListener the listener, or {@code null} to stop reporting changes.
+	 */
+	public void setBalanceListener(BalanceListener balanceListener) {
+		this.balanceListener = balanceListener;
+	}
+
+	// Must be called with the account's stripe lock held
+	private void setBalance(int accountId, long minorUnits) {
+		accountBalances.put(accountId, minorUnits);
+		reportBalance(accountId, minorUnits);
+	}
+
+	private void reportBalance(int accountId, long minorUnits) {
+		BalanceListener listener = balanceListener;
+		if (listener != null) {
+			listener.balanceChanged(accountId, minorUnits);
 		}
-		return instance;
 	}
 
 	/**
@@ -52,7 +121,38 @@ public class BankManager {
 	 * @param accountBalance the initial balance of the account.
 	 */
 	public void createAccount(int personId, double accountBalance) {
-		accountBalances.put(personId, accountBalance);
+		synchronized (locks[stripeOf(personId)]) {
+			setBalance(personId, toMinorUnits(accountBalance));
+		}
+	}
+
+	/**
+	 * Creates or overwrites an account with an exact balance in minor units, e.g. when restoring
+	 * accounts from a journal or snapshot.
+	 *
+	 * @param accountId  the unique ID of the account.
+	 * @param minorUnits the balance, in minor units (cents).
+	 */
+	public void restoreBalance(int accountId, long minorUnits) {
+		synchronized (locks[stripeOf(accountId)]) {
+			setBalance(accountId, minorUnits);
+		}
+	}
+
+	/**
+	 * Reports the account's current balance to the balance listener, if one is registered.
+	 *
+	 * <p>The report is made under the account's lock, so it is ordered with any concurrent change.</p>
+	 *
+	 * @param accountId the unique ID of the account.
+	 */
+	public void reportBalance(int accountId) {
+		synchronized (locks[stripeOf(accountId)]) {
+			BalanceListener listener = balanceListener;
+			if (listener != null) {
+				listener.balanceChanged(accountId, accountBalances.get(accountId));
+			}
+		}
 	}
 
 	/**
@@ -62,7 +162,9 @@ public class BankManager {
 	 * @param amount   the amount to deposit (must be positive).
 	 */
 	public void deposit(int personId, double amount) {
-		accountBalances.put(personId, accountBalances.get(personId) + amount);
+		synchronized (locks[stripeOf(personId)]) {
+			setBalance(personId, accountBalances.get(personId) + toMinorUnits(amount));
+		}
 	}
 
 	/**
@@ -72,7 +174,181 @@ public class BankManager {
 	 * @param amount   the amount to withdraw (must be positive and not exceed the current balance).
 	 */
 	public void withdraw(int personId, double amount) {
-		accountBalances.put(personId, accountBalances.get(personId) - amount);
+		synchronized (locks[stripeOf(personId)]) {
+			setBalance(personId, accountBalances.get(personId) - toMinorUnits(amount));
+		}
+	}
+
+	/**
+	 * Atomically moves the specified amount between two accounts, provided the source account
+	 * has sufficient funds.
+	 *
+	 * <p>No other operation can observe the funds as withdrawn but not yet deposited, and two
+	 * concurrent transfers cannot both spend the same balance.</p>
+	 *
+	 * @param fromId the unique ID of the account to withdraw from.
+	 * @param toId   the unique ID of the account to deposit into.
+	 * @param amount the amount to transfer (must be positive).
+	 * @return {@code true} if the transfer was made, {@code false} if the source account lacks the funds.
+	 */
+	public boolean transfer(int fromId, int toId, double amount) {
+		return transfer(fromId, toId, amount, false, null);
+	}
+
+	/**
+	 * Atomically moves the specified amount between two accounts, provided the source account has
+	 * sufficient funds, and tells the given listener of both new balances instead of the balance listener.
+	 *
+	 * @param fromId          the unique ID of the account to withdraw from.
+	 * @param toId            the unique ID of the account to deposit into.
+	 * @param amount          the amount to transfer (must be positive).
+	 * @param postingListener the listener for the new balances, or {@code null} to use the balance listener.
+	 * @return {@code true} if the transfer was made, {@code false} if the source account lacks the funds.
+	 */
+	public boolean transfer(int fromId, int toId, double amount, PostingListener postingListener) {
+		return transfer(fromId, toId, amount, false, postingListener);
+	}
+
+	/**
+	 * Atomically moves the specified amount between two accounts, even if this leaves the
+	 * source account with a negative balance (e.g., the gym paying salaries on credit).
+	 *
+	 * @param fromId the unique ID of the account to withdraw from.
+	 * @param toId   the unique ID of the account to deposit into.
+	 * @param amount the amount to transfer (must be positive).
+	 */
+	public void transferWithOverdraft(int fromId, int toId, double amount) {
+		transfer(fromId, toId, amount, true, null);
+	}
+
+	/**
+	 * Atomically moves the specified amount between two accounts, even if this leaves the source
+	 * account with a negative balance, and tells the given listener of both new balances instead of
+	 * the balance listener.
+	 *
+	 * @param fromId          the unique ID of the account to withdraw from.
+	 * @param toId            the unique ID of the account to deposit into.
+	 * @param amount          the amount to transfer (must be positive).
+	 * @param postingListener the listener for the new balances, or {@code null} to use the balance listener.
+	 */
+	public void transferWithOverdraft(int fromId, int toId, double amount, PostingListener postingListener) {
+		transfer(fromId, toId, amount, true, postingListener);
+	}
+
+	/**
+	 * Atomically moves a batch of amounts from one account to many, e.g. to pay a whole payroll.
+	 *
+	 * <p>Either every payment is posted or none is: the stripes of all the accounts involved are
+	 * locked, in ascending order, for the whole batch, so no other operation can observe it half
+	 * done. Every account is checked to exist, and the source account is checked against the batch's
+	 * total, before anything is posted. The balance listener is told of the new balances only once
+	 * all of them have been posted, so a failing listener cannot leave the batch half done either.</p>
+	 *
+	 * @param fromId         the unique ID of the account to withdraw from.
+	 * @param toIds          the unique IDs of the accounts to deposit into.
+	 * @param minorUnits     the amount for each account, in minor units (cents).
+	 * @param count          the number of payments in the arrays.
+	 * @param allowOverdraft whether the batch may leave the source account with a negative balance.
+	 * @return the source account's balance before the batch, in minor units; the batch was posted
+	 * unless overdraft is disallowed and this is less than the batch's total.
+	 * @throws IllegalArgumentException if any of the accounts does not exist; nothing is posted.
+	 */
+	public long transferBatch(int fromId, int[] toIds, long[] minorUnits, int count, boolean allowOverdraft) {
+		return transferBatch(fromId, toIds, minorUnits, count, allowOverdraft, null);
+	}
+
+	/**
+	 * Atomically moves a batch of amounts from one account to many, and tells the given listener of
+	 * all the new balances instead of the balance listener, e.g. to journal a payroll as one record.
+	 *
+	 * @param fromId          the unique ID of the account to withdraw from.
+	 * @param toIds           the unique IDs of the accounts to deposit into.
+	 * @param minorUnits      the amount for each account, in minor units (cents).
+	 * @param count           the number of payments in the arrays.
+	 * @param allowOverdraft  whether the batch may leave the source account with a negative balance.
+	 * @param postingListener the listener for the new balances, or {@code null} to use the balance listener.
+	 * @return the source account's balance before the batch, in minor units.
+	 * @throws IllegalArgumentException if any of the accounts does not exist; nothing is posted.
+	 * @see #transferBatch(int, int[], long[], int, boolean)
+	 */
+	public long transferBatch(int fromId, int[] toIds, long[] minorUnits, int count, boolean allowOverdraft,
+			PostingListener postingListener) {
+		long total = 0;
+		long stripes = 1L << stripeOf(fromId);
+		for (int i = 0; i < count; i++) {
+			total += minorUnits[i];
+			stripes |= 1L << stripeOf(toIds[i]);
+		}
+		long batchTotal = total;
+		return withStripesLocked(stripes, () -> {
+			long fromBalance = accountBalances.get(fromId);
+			for (int i = 0; i < count; i++) {
+				if (!accountBalances.contains(toIds[i])) {
+					throw new IllegalArgumentException("No account with ID " + toIds[i]);
+				}
+			}
+			if (!allowOverdraft && fromBalance < batchTotal) {
+				return fromBalance;
+			}
+			// Every account exists, so none of these writes can fail
+			accountBalances.put(fromId, fromBalance - batchTotal);
+			for (int i = 0; i < count; i++) {
+				accountBalances.put(toIds[i], accountBalances.get(toIds[i]) + minorUnits[i]);
+			}
+			if (postingListener != null) {
+				int[] accountIds = new int[count + 1];
+				long[] balances = new long[count + 1];
+				accountIds[0] = fromId;
+				balances[0] = accountBalances.get(fromId);
+				for (int i = 0; i < count; i++) {
+					accountIds[i + 1] = toIds[i];
+					balances[i + 1] = accountBalances.get(toIds[i]);
+				}
+				postingListener.posted(accountIds, balances, count + 1);
+				return fromBalance;
+			}
+			reportBalance(fromId, accountBalances.get(fromId));
+			for (int i = 0; i < count; i++) {
+				reportBalance(toIds[i], accountBalances.get(toIds[i]));
+			}
+			return fromBalance;
+		});
+	}
+
+	// Locks the given stripes from the lowest up, the same order as transfer(), and runs the action
+	private long withStripesLocked(long stripes, LongSupplier action) {
+		if (stripes == 0) {
+			return action.getAsLong();
+		}
+		synchronized (locks[Long.numberOfTrailingZeros(stripes)]) {
+			return withStripesLocked(stripes & (stripes - 1), action);
+		}
+	}
+
+	private boolean transfer(int fromId, int toId, double amount, boolean allowOverdraft,
+			PostingListener postingListener) {
+		long minorUnits = toMinorUnits(amount);
+		int fromStripe = stripeOf(fromId);
+		int toStripe = stripeOf(toId);
+		// Always lock the lower stripe first so that opposite transfers cannot deadlock
+		synchronized (locks[Math.min(fromStripe, toStripe)]) {
+			synchronized (locks[Math.max(fromStripe, toStripe)]) {
+				long fromBalance = accountBalances.get(fromId);
+				if (!allowOverdraft && fromBalance < minorUnits) {
+					return false;
+				}
+				if (postingListener == null) {
+					setBalance(fromId, fromBalance - minorUnits);
+					setBalance(toId, accountBalances.get(toId) + minorUnits);
+					return true;
+				}
+				accountBalances.put(fromId, fromBalance - minorUnits);
+				accountBalances.put(toId, accountBalances.get(toId) + minorUnits);
+				postingListener.posted(new int[]{fromId, toId},
+						new long[]{accountBalances.get(fromId), accountBalances.get(toId)}, 2);
+				return true;
+			}
+		}
 	}
 
 	/**
@@ -82,7 +358,21 @@ public class BankManager {
 	 * @return the current balance of the account.
 	 */
 	public double getBalance(int personId) {
-		return accountBalances.get(personId);
+		synchronized (locks[stripeOf(personId)]) {
+			return toAmount(accountBalances.get(personId));
+		}
+	}
+
+	/**
+	 * Retrieves the exact balance of the account associated with the given ID, in minor units (cents).
+	 *
+	 * @param accountId the unique ID of the account.
+	 * @return the current balance of the account, in minor units.
+	 */
+	public long getBalanceInMinorUnits(int accountId) {
+		synchronized (locks[stripeOf(accountId)]) {
+			return accountBalances.get(accountId);
+		}
 	}
 
 	/**
@@ -95,13 +385,22 @@ public class BankManager {
 		int uniqueId;
 
 		do {
-			uniqueId = rand.nextInt(1000, 9999);
-		} while (usedIds.contains(uniqueId));
+			uniqueId = ThreadLocalRandom.current().nextInt(1000, 9999);
+		} while (!usedIds.add(uniqueId));
 
-		usedIds.add(uniqueId);
 		return uniqueId;
 	}
 
+	/**
+	 * Marks an ID as taken, so that {@link #uniqueIdGenerator()} never hands it out,
+	 * e.g. when an account with a known ID is restored.
+	 *
+	 * @param id the ID to reserve.
+	 */
+	public void reserveId(int id) {
+		usedIds.add(id);
+	}
+
 	/**
 	 * Validates whether a payment of the specified amount can be made from the account
 	 * associated with the given person ID.
@@ -111,6 +410,8 @@ public class BankManager {
 	 * @return {@code true} if the account has sufficient funds, {@code false} otherwise.
 	 */
 	public boolean isValidPayment(int personId, double amount) {
-		return getBalance(personId) >= amount;
+		synchronized (locks[stripeOf(personId)]) {
+			return accountBalances.get(personId) >= toMinorUnits(amount);
+		}
 	}
 }
\ No newline at end of file
@@ -23,22 +23,89 @@ import java.time.format.DateTimeParseException;
 public class DateUtils {
 	private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+	private static final DateTimeFormatter OUTPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+	private static final DateTimeFormatter OUTPUT_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+	private static final LocalDate DEFAULT_AGE_REFERENCE_DATE = LocalDate.of(2024, 12, 21);
+	private static final LocalDateTime FUTURE_REFERENCE_DATE_TIME = LocalDateTime.of(2024, 12, 30, 0, 0);
+	private static volatile LocalDate ageReferenceDate = DEFAULT_AGE_REFERENCE_DATE;
+
+	/**
+	 * Parses a date string in "dd-MM-yyyy" format.
+	 *
+	 * @param date the date string to parse.
+	 * @return the parsed {@code LocalDate}.
+	 * @throws DateTimeParseException if the {@code date} is not in the expected format.
+	 */
+	public static LocalDate parseDate(String date) {
+		return LocalDate.parse(date, DATE_ONLY_FORMATTER);
+	}
+
+	/**
+	 * Parses a date and time string in "dd-MM-yyyy HH:mm" format.
+	 *
+	 * @param dateTime the date and time string to parse.
+	 * @return the parsed {@code LocalDateTime}.
+	 * @throws DateTimeParseException if the {@code dateTime} is not in the expected format.
+	 */
+	public static LocalDateTime parseDateTime(String dateTime) {
+		return LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
+	}
 
 	/**
 	 * Calculates and returns the age of a person based on their birthdate.
 	 *
 	 * <p>The method parses the {@code birthDate} string, which must be in the format "dd-MM-yyyy",
-	 * and computes the age by finding the difference in years between the birthdate and a fixed
-	 * reference date (21st December 2024).</p>
+	 * and computes the age by finding the difference in years between the birthdate and the
+	 * age reference date (21st December 2024 by default).</p>
 	 *
 	 * @param birthDate the birthdate of the person in "dd-MM-yyyy" format.
 	 * @return the age of the person as an integer.
 	 * @throws DateTimeParseException if the {@code birthDate} is not in the expected format.
 	 */
 	public static int getAge(String birthDate) {
-		LocalDate birth = LocalDate.parse(birthDate, DATE_ONLY_FORMATTER);
-		LocalDate now = LocalDate.of(2024, 12, 21);
-		return Period.between(birth, now).getYears();
+		return getAge(parseDate(birthDate));
+	}
+
+	/**
+	 * Calculates and returns the age of a person based on an already parsed birthdate,
+	 * relative to the age reference date (21st December 2024 by default).
+	 *
+	 * @param birthDate the birthdate of the person.
+	 * @return the age of the person as an integer.
+	 */
+	public static int getAge(LocalDate birthDate) {
+		return getAge(birthDate, ageReferenceDate);
+	}
+
+	/**
+	 * Calculates and returns the age of a person at a given date.
+	 *
+	 * @param birthDate     the birthdate of the person.
+	 * @param referenceDate the date to calculate the age at.
+	 * @return the age of the person as an integer.
+	 */
+	public static int getAge(LocalDate birthDate, LocalDate referenceDate) {
+		return Period.between(birthDate, referenceDate).getYears();
+	}
+
+	/**
+	 * Returns the date that ages are calculated at.
+	 *
+	 * @return the age reference date.
+	 */
+	public static LocalDate getAgeReferenceDate() {
+		return ageReferenceDate;
+	}
+
+	/**
+	 * Changes the date that ages are calculated at, e.g. to run the gym as of another day.
+	 * Cached ages, such as those in the {@link gym.management.Strategy.Validation.EligibilityCache},
+	 * are recalculated the next time they are used.
+	 *
+	 * @param referenceDate the new age reference date.
+	 */
+	public static void setAgeReferenceDate(LocalDate referenceDate) {
+		ageReferenceDate = referenceDate;
 	}
 
 
@@ -55,18 +122,27 @@ public class DateUtils {
 	 */
 	public static boolean isDateInFuture(String dateTime) {
 		try {
-			LocalDateTime inputDate = LocalDateTime.parse(dateTime, DATE_TIME_FORMATTER);
-			LocalDateTime referenceDate = LocalDateTime.of(2024, 12, 30, 0, 0);
-			return inputDate.isAfter(referenceDate);
+			return isDateInFuture(parseDateTime(dateTime));
 		} catch (DateTimeParseException e) {
 			return false;
 		}
 	}
+
+	/**
+	 * Checks if an already parsed date and time is after the fixed reference date and time
+	 * (30th December 2024, 00:00).
+	 *
+	 * @param dateTime the date and time to check.
+	 * @return {@code true} if the date is in the future, {@code false} otherwise.
+	 */
+	public static boolean isDateInFuture(LocalDateTime dateTime) {
+		return dateTime.isAfter(FUTURE_REFERENCE_DATE_TIME);
+	}
+
 	/**
-	 * Attempts to parse the given input string as "dd-MM-yyyy HH:mm" first;
-	 * if that fails, tries to parse it as "dd-MM-yyyy" instead.
+	 * Formats the given input string, which is either "dd-MM-yyyy HH:mm" or "dd-MM-yyyy".
 	 *
-	 * <p>If parsing as date-time is successful, it returns an ISO 8601 style date-time
+	 * <p>If the input contains a time part, it returns an ISO 8601 style date-time
 	 * (yyyy-MM-dd'T'HH:mm). If it's only a date (no time), it returns a date
 	 * in yyyy-MM-dd format. Else, throw a DateTimeParseException</p>
 	 *
@@ -75,13 +151,30 @@ public class DateUtils {
 	 * @throws DateTimeParseException if the input does not match either pattern
 	 */
 	public static String formatDate(String input) {
-		try {
-			LocalDateTime dateTime = LocalDateTime.parse(input, DATE_TIME_FORMATTER);
-			return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
-		} catch (DateTimeParseException e) {
-			LocalDate date = LocalDate.parse(input, DATE_ONLY_FORMATTER);
-			return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+		if (input.indexOf(' ') >= 0) {
+			return formatDate(parseDateTime(input));
 		}
+		return formatDate(parseDate(input));
+	}
+
+	/**
+	 * Formats a date and time as an ISO 8601 style string (yyyy-MM-dd'T'HH:mm).
+	 *
+	 * @param dateTime the date and time to format.
+	 * @return the formatted string.
+	 */
+	public static String formatDate(LocalDateTime dateTime) {
+		return dateTime.format(OUTPUT_DATE_TIME_FORMATTER);
+	}
+
+	/**
+	 * Formats a date as an ISO 8601 style string (yyyy-MM-dd).
+	 *
+	 * @param date the date to format.
+	 * @return the formatted string.
+	 */
+	public static String formatDate(LocalDate date) {
+		return date.format(OUTPUT_DATE_FORMATTER);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package gym.management.Strategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link AccountStore} backed by a {@link ConcurrentHashMap} of boxed IDs and balances.
+ *
+ * <p>Simple and general, but every access boxes the key and every update allocates a new
+ * {@code Long}. Selected with {@code -Dgym.bank.store=map}.</p>
+ */
+public class MapAccountStore implements AccountStore {
+	private final Map<Integer, Long> balances = new ConcurrentHashMap<>();
+
+	@Override
+	public void put(int accountId, long balance) {
+		balances.put(accountId, balance);
+	}
+
+	@Override
+	public long get(int accountId) {
+		Long balance = balances.get(accountId);
+		if (balance == null) {
+			throw new IllegalArgumentException("No account with ID " + accountId);
+		}
+		return balance;
+	}
+
+	@Override
+	public boolean contains(int accountId) {
+		return balances.containsKey(accountId);
+	}
+
+	@Override
+	public int size() {
+		return balances.size();
+	}
+}
@@ -0,0 +1,55 @@
+package gym.management.Strategy;
+
+/**
+ * The outcome of one payroll run: how many employees were paid, how much, and whether the gym's
+ * balance covered it.
+ */
+public final class PayrollSummary {
+	private final int employeeCount;
+	private final long totalMinorUnits;
+	private final long gymBalanceBefore;
+	private final boolean paid;
+
+	public PayrollSummary(int employeeCount, long totalMinorUnits, long gymBalanceBefore, boolean paid) {
+		this.employeeCount = employeeCount;
+		this.totalMinorUnits = totalMinorUnits;
+		this.gymBalanceBefore = gymBalanceBefore;
+		this.paid = paid;
+	}
+
+	public int getEmployeeCount() {
+		return employeeCount;
+	}
+
+	public double getTotal() {
+		return (double) totalMinorUnits / BankManager.MINOR_UNITS_PER_UNIT;
+	}
+
+	public long getTotalInMinorUnits() {
+		return totalMinorUnits;
+	}
+
+	public double getGymBalanceBefore() {
+		return (double) gymBalanceBefore / BankManager.MINOR_UNITS_PER_UNIT;
+	}
+
+	/**
+	 * @return {@code true} if every employee was paid, {@code false} if no one was.
+	 */
+	public boolean isPaid() {
+		return paid;
+	}
+
+	/**
+	 * @return {@code true} if the gym's balance covered the payroll without an overdraft.
+	 */
+	public boolean isCovered() {
+		return gymBalanceBefore >= totalMinorUnits;
+	}
+
+	@Override
+	public String toString() {
+		return "Payroll: " + employeeCount + " employees | Total: " + getTotal() + " | Gym Balance Before: "
+				+ getGymBalanceBefore() + " | " + (paid ? "Paid" : "Not paid");
+	}
+}
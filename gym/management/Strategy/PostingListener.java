@@ -0,0 +1,23 @@
+package gym.management.Strategy;
+
+/**
+ * Receives the new balances of all the accounts changed by one posting made through the {@link BankManager},
+ * e.g. a transfer or a batch, so that they can be recorded together with the operation they belong to.
+ *
+ * <p>A posting listener is given to a single call and is told of its balances instead of the
+ * {@link BalanceListener}. It is called once, only if the posting was made, while the locks of all the
+ * accounts involved are still held. Implementations must be quick and must not call back into the
+ * {@code BankManager}.</p>
+ */
+@FunctionalInterface
+public interface PostingListener {
+
+	/**
+	 * Called after all the accounts of a posting have been changed.
+	 *
+	 * @param accountIds the IDs of the accounts, the source account first.
+	 * @param minorUnits the accounts' new balances, in minor units (cents), in the same order.
+	 * @param count      the number of accounts in the arrays.
+	 */
+	void posted(int[] accountIds, long[] minorUnits, int count);
+}
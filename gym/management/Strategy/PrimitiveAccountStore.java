@@ -0,0 +1,140 @@
+package gym.management.Strategy;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An {@link AccountStore} backed by an open-addressing hash table of primitive {@code int} IDs
+ * and {@code long} balances, with linear probing.
+ *
+ * <p>Nothing is boxed or allocated on the payment path: reading or updating an existing account
+ * is a probe into two parallel arrays. At the maximum load factor of one half, each account
+ * costs at most 24 bytes of table space.</p>
+ *
+ * <p>Reads and balance updates of existing accounts share a read lock, so they run in parallel;
+ * only inserting a new account (which may grow the table) takes the write lock.</p>
+ */
+public class PrimitiveAccountStore implements AccountStore {
+	private static final int EMPTY = Integer.MIN_VALUE; // Marks an unused slot, so it cannot be used as an ID
+	private static final int DEFAULT_EXPECTED_ACCOUNTS = 512;
+
+	private final ReadWriteLock tableLock = new ReentrantReadWriteLock();
+	private int[] ids;
+	private long[] balances;
+	private int shift; // 32 - log2(table length), for Fibonacci hashing
+	private int size;
+
+	public PrimitiveAccountStore() {
+		this(DEFAULT_EXPECTED_ACCOUNTS);
+	}
+
+	/**
+	 * @param expectedAccounts the number of accounts the table is sized for up front.
+	 */
+	public PrimitiveAccountStore(int expectedAccounts) {
+		allocate(Integer.highestOneBit(Math.max(expectedAccounts, 4) - 1) << 2);
+	}
+
+	private void allocate(int capacity) {
+		ids = new int[capacity];
+		balances = new long[capacity];
+		shift = Integer.numberOfLeadingZeros(capacity) + 1;
+		Arrays.fill(ids, EMPTY);
+	}
+
+	// Returns the slot of the account, or (-insertionSlot - 1) if it is absent
+	private int slotOf(int accountId) {
+		int mask = ids.length - 1;
+		int slot = (accountId * 0x9E3779B9) >>> shift;
+		while (ids[slot] != EMPTY) {
+			if (ids[slot] == accountId) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -slot - 1;
+	}
+
+	@Override
+	public void put(int accountId, long balance) {
+		if (accountId == EMPTY) {
+			throw new IllegalArgumentException("Invalid account ID " + accountId);
+		}
+
+		tableLock.readLock().lock();
+		try {
+			int slot = slotOf(accountId);
+			if (slot >= 0) {
+				balances[slot] = balance;
+				return;
+			}
+		} finally {
+			tableLock.readLock().unlock();
+		}
+
+		tableLock.writeLock().lock();
+		try {
+			int slot = slotOf(accountId);
+			if (slot < 0) {
+				if ((size + 1) * 2 > ids.length) {
+					grow();
+					slot = slotOf(accountId);
+				}
+				slot = -slot - 1;
+				ids[slot] = accountId;
+				size++;
+			}
+			balances[slot] = balance;
+		} finally {
+			tableLock.writeLock().unlock();
+		}
+	}
+
+	private void grow() {
+		int[] oldIds = ids;
+		long[] oldBalances = balances;
+		allocate(oldIds.length * 2);
+		for (int i = 0; i < oldIds.length; i++) {
+			if (oldIds[i] != EMPTY) {
+				int slot = -slotOf(oldIds[i]) - 1;
+				ids[slot] = oldIds[i];
+				balances[slot] = oldBalances[i];
+			}
+		}
+	}
+
+	@Override
+	public long get(int accountId) {
+		tableLock.readLock().lock();
+		try {
+			int slot = slotOf(accountId);
+			if (slot < 0) {
+				throw new IllegalArgumentException("No account with ID " + accountId);
+			}
+			return balances[slot];
+		} finally {
+			tableLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(int accountId) {
+		tableLock.readLock().lock();
+		try {
+			return slotOf(accountId) >= 0;
+		} finally {
+			tableLock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		tableLock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			tableLock.readLock().unlock();
+		}
+	}
+}
@@ -5,16 +5,20 @@ import gym.management.Gym;
 import gym.management.Instructor;
 import gym.management.Secretary;
 
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 public class SalaryManager {
 
 	/**
-	 * Calculates the total pay for the instructor based on their hourly rate and the number of sessions conducted.
+	 * Calculates the pay owed to the instructor based on their hourly rate and the number of sessions
+	 * not yet paid for.
 	 *
-	 * <p>The method multiplies the instructor's hourly rate by the number of sessions conducted,
-	 * providing the total pay. This method does not reset the session count, leaving that responsibility
-	 * to the caller or the Instructor class itself.</p>
+	 * <p>The method multiplies the instructor's hourly rate by the unpaid sessions in their
+	 * {@link gym.management.PayAccrual}, providing the total pay. This method does not settle the
+	 * sessions; a payroll run does.</p>
 	 *
 	 * @param instructor the instructor whose salary is to be calculated.
 	 * @return the total pay for the instructor as a {@code double}.
@@ -25,32 +29,123 @@ public class SalaryManager {
 			throw new NullPointerException("Instructor cannot be null");
 		}
 
-		return instructor.getHourlyRate() * instructor.getSessionCount();
+		return instructor.getHourlyRate() * instructor.getPayAccrual().getUnpaidSessions();
 	}
 
 	/**
-	 * Pays salaries to the secretary and all instructors.
+	 * Pays salaries to the secretary and all instructors, as one payroll run.
 	 *
 	 * @param gym the gym instance to manage financial transactions.
 	 * @param staff the list of staff members (secretary and instructors) to pay.
 	 * @return true if all payments were successful, false otherwise.
 	 */
 	public static boolean paySalaries(Gym gym, List<Person> staff) {
-		boolean paid = true;
+		Payroll payroll = new Payroll(staff.size());
+		boolean allStaff = true;
 		for (Person employee : staff) {
 			if (employee instanceof Secretary secretary) {
-				int secretarySalary = secretary.getSalary();
-				gym.withdraw(secretarySalary);
-				secretary.deposit(secretarySalary);
+				payroll.add(secretary);
 			} else if (employee instanceof Instructor instructor) {
-				double instructorSalary = calculatePay(instructor);
-				gym.withdraw(instructorSalary);
-				instructor.deposit(instructorSalary);
+				payroll.add(instructor, null);
 			} else {
-				paid = false;
+				allStaff = false;
 			}
 		}
-		return paid;
+		return payroll.post(gym, null).isPaid() && allStaff;
 	}
 
+	/**
+	 * Runs the payroll for every pay period so far.
+	 *
+	 * @param gym         the gym paying the salaries.
+	 * @param secretary   the secretary, paid their monthly salary, or {@code null}.
+	 * @param instructors the instructors, paid for the sessions they have not been paid for yet.
+	 * @return the summary of the run.
+	 * @see #runPayroll(Gym, Secretary, Collection, YearMonth)
+	 */
+	public static PayrollSummary runPayroll(Gym gym, Secretary secretary, Collection<Instructor> instructors) {
+		return runPayroll(gym, secretary, instructors, null);
+	}
+
+	/**
+	 * Runs the payroll: computes every salary in one pass, then pays them all from the gym's account
+	 * as a single atomic batch.
+	 *
+	 * <p>Instructors are paid for their unpaid sessions up to and including the given pay period,
+	 * read from their {@link gym.management.PayAccrual} in constant time when the period is the
+	 * latest, and those sessions are then settled, so no session is paid for twice.</p>
+	 *
+	 * <p>The gym's balance is checked against the payroll's total before anything is paid. Unless the
+	 * {@code gym.payroll.allowOverdraft} property is {@code false}, the gym pays on credit when its
+	 * balance falls short; otherwise no one is paid.</p>
+	 *
+	 * @param gym         the gym paying the salaries.
+	 * @param secretary   the secretary, paid their monthly salary, or {@code null}.
+	 * @param instructors the instructors, paid for their unpaid sessions.
+	 * @param through     the last pay period to pay sessions for, or {@code null} for every period.
+	 * @return the summary of the run.
+	 */
+	public static PayrollSummary runPayroll(Gym gym, Secretary secretary, Collection<Instructor> instructors,
+			YearMonth through) {
+		Payroll payroll = new Payroll(instructors.size() + 1);
+		if (secretary != null) {
+			payroll.add(secretary);
+		}
+		for (Instructor instructor : instructors) {
+			payroll.add(instructor, through);
+		}
+		return payroll.post(gym, through);
+	}
+
+	// The payees and amounts of one run, in parallel arrays so the batch is posted without boxing
+	private static final class Payroll {
+		private static final boolean ALLOW_OVERDRAFT =
+				Boolean.parseBoolean(System.getProperty("gym.payroll.allowOverdraft", "true"));
+
+		private int[] payeeIds;
+		private long[] amounts;
+		private int count;
+		private long total;
+		private Instructor[] instructors;
+		private int[] paidSessions; // Read once, so the payroll settles exactly the sessions it paid for
+		private int instructorCount;
+
+		Payroll(int expectedPayees) {
+			payeeIds = new int[Math.max(expectedPayees, 1)];
+			amounts = new long[payeeIds.length];
+			instructors = new Instructor[payeeIds.length];
+			paidSessions = new int[payeeIds.length];
+		}
+
+		void add(Secretary secretary) {
+			add(secretary.getId(), (long) secretary.getSalary() * BankManager.MINOR_UNITS_PER_UNIT);
+		}
+
+		void add(Instructor instructor, YearMonth through) {
+			int unpaidSessions = instructor.getPayAccrual().getUnpaidSessions(through);
+			add(instructor.getId(), (long) instructor.getHourlyRate() * unpaidSessions * BankManager.MINOR_UNITS_PER_UNIT);
+			if (instructorCount == instructors.length) {
+				instructors = Arrays.copyOf(instructors, instructorCount * 2);
+				paidSessions = Arrays.copyOf(paidSessions, instructorCount * 2);
+			}
+			instructors[instructorCount] = instructor;
+			paidSessions[instructorCount++] = unpaidSessions;
+		}
+
+		private void add(int payeeId, long amount) {
+			if (count == payeeIds.length) {
+				payeeIds = Arrays.copyOf(payeeIds, count * 2);
+				amounts = Arrays.copyOf(amounts, count * 2);
+			}
+			payeeIds[count] = payeeId;
+			amounts[count++] = amount;
+			total += amount;
+		}
+
+		PayrollSummary post(Gym gym, YearMonth through) {
+			long gymBalanceBefore = gym.payPayroll(payeeIds, amounts, count, ALLOW_OVERDRAFT,
+					Arrays.asList(instructors).subList(0, instructorCount), paidSessions, through);
+			return new PayrollSummary(count, total, gymBalanceBefore, ALLOW_OVERDRAFT || gymBalanceBefore >= total);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package gym.management.Strategy.Validation;
+
+/**
+ * The age groups that the gym's rules distinguish: minors cannot register, and only seniors can
+ * join sessions for the {@link gym.management.Sessions.ForumType#Seniors Seniors} forum.
+ */
+public enum AgeBracket {
+	Minor, Adult, Senior;
+
+	public static final int ADULT_AGE = 18;
+	public static final int SENIOR_AGE = 65;
+
+	/**
+	 * @param age an age in years.
+	 * @return the bracket the age falls into.
+	 */
+	public static AgeBracket of(int age) {
+		if (age >= SENIOR_AGE) {
+			return Senior;
+		}
+		return age >= ADULT_AGE ? Adult : Minor;
+	}
+}
@@ -0,0 +1,74 @@
+package gym.management.Strategy.Validation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable, thread-safe snapshot of a {@link ValidationRuleSet}, with its rules in the order
+ * they are cheapest to evaluate.
+ *
+ * <p>In {@link ValidationMode#CollectAll} mode the rules are evaluated by ascending cost. In
+ * {@link ValidationMode#FailFast} mode they are ordered by cost divided by the rule's observed failure
+ * rate, so cheap rules that often fail run first and an invalid input is rejected as early as possible.
+ * Either way the result reports failures by the rules' declaration order, so callers see the same
+ * messages in the same order whatever the evaluation order was.</p>
+ *
+ * <p>A validator keeps no per-call state and can be shared by any number of threads. It counts how
+ * often each rule fails; recompiling the rule set later picks up the new failure rates.</p>
+ *
+ * @param <T> the type of the input to be validated
+ */
+public final class CompiledValidator<T> {
+	private final ValidationMode mode;
+	private final ValidationPayload<T>[] evaluationOrder;
+	private final int[] declarationIndices; // Declaration index of each rule in evaluation order
+	private final String[] messages; // By declaration index
+	private final ValidationResult valid; // Shared, so a valid input costs no allocation
+
+	@SuppressWarnings("unchecked")
+	CompiledValidator(List<ValidationPayload<T>> rules, ValidationMode mode) {
+		this.mode = mode;
+		this.messages = new String[rules.size()];
+		Integer[] order = new Integer[rules.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+			messages[i] = rules.get(i).getMessage();
+		}
+		Comparator<Integer> byRank = mode == ValidationMode.FailFast
+				? Comparator.comparingDouble(i -> rules.get(i).getCost() / rules.get(i).getFailureRate())
+				: Comparator.comparingInt(i -> rules.get(i).getCost());
+		Arrays.sort(order, byRank); // Stable, so equal ranks keep their declaration order
+
+		this.evaluationOrder = (ValidationPayload<T>[]) new ValidationPayload<?>[order.length];
+		this.declarationIndices = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			evaluationOrder[i] = rules.get(order[i]);
+			declarationIndices[i] = order[i];
+		}
+		this.valid = new ValidationResult(0, messages);
+	}
+
+	public ValidationMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Validates an input against the compiled rules.
+	 *
+	 * @param input the input to be validated
+	 * @return the result of this validation
+	 */
+	public ValidationResult validate(T input) {
+		long failedRules = 0;
+		for (int i = 0; i < evaluationOrder.length; i++) {
+			if (!evaluationOrder[i].validateAndRecord(input)) {
+				failedRules |= 1L << declarationIndices[i];
+				if (mode == ValidationMode.FailFast) {
+					break;
+				}
+			}
+		}
+		return failedRules == 0 ? valid : new ValidationResult(failedRules, messages);
+	}
+}
@@ -0,0 +1,120 @@
+package gym.management.Strategy.Validation;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Sessions.ForumType;
+import gym.management.Strategy.DateUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per person ID, the person's {@link AgeBracket} and which {@link ForumType forums} they
+ * may join, so that eligibility checks do not recalculate ages on every registration attempt.
+ *
+ * <p>Both are packed into one small {@code int}: one bit per forum, by ordinal, and the age bracket
+ * above them. A forum check is then a single bit test. A person's gender and birthdate never change,
+ * so an entry stays valid until the {@link DateUtils#setAgeReferenceDate age reference date} changes,
+ * at which point the whole cache is dropped and refilled on demand.</p>
+ *
+ * <p>The cache is safe to use from any number of threads.</p>
+ */
+public class EligibilityCache {
+	private static final EligibilityCache instance = new EligibilityCache(); // Singleton
+	private static final int BRACKET_SHIFT = ForumType.values().length;
+
+	private volatile Generation generation = new Generation(DateUtils.getAgeReferenceDate());
+
+	// The entries calculated at one reference date
+	private static final class Generation {
+		private final LocalDate referenceDate;
+		private final ConcurrentHashMap<Integer, Integer> entries = new ConcurrentHashMap<>();
+
+		Generation(LocalDate referenceDate) {
+			this.referenceDate = referenceDate;
+		}
+	}
+
+	private EligibilityCache() {
+	}
+
+	public static EligibilityCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Checks whether a person may join sessions of a forum.
+	 *
+	 * @param person the person to check.
+	 * @param forum  the session's forum.
+	 * @return {@code true} if the person's gender and age allow them to join the forum.
+	 */
+	public boolean isEligible(Person person, ForumType forum) {
+		return (entryOf(person) & (1 << forum.ordinal())) != 0;
+	}
+
+	/**
+	 * @param person the person to check.
+	 * @return the age bracket the person falls into at the current age reference date.
+	 */
+	public AgeBracket getAgeBracket(Person person) {
+		return AgeBracket.values()[entryOf(person) >>> BRACKET_SHIFT];
+	}
+
+	/**
+	 * Drops the cached entry of one person, e.g. when they leave the gym.
+	 *
+	 * @param personId the person's ID.
+	 */
+	public void invalidate(int personId) {
+		generation.entries.remove(personId);
+	}
+
+	/**
+	 * @return the number of people currently cached.
+	 */
+	public int size() {
+		return currentGeneration().entries.size();
+	}
+
+	private int entryOf(Person person) {
+		Generation current = currentGeneration();
+		Integer entry = current.entries.get(person.getId());
+		if (entry == null) {
+			// Racing threads calculate the same value, so there is no need to lock
+			entry = calculate(person, current.referenceDate);
+			current.entries.put(person.getId(), entry);
+		}
+		return entry;
+	}
+
+	private Generation currentGeneration() {
+		Generation current = generation;
+		LocalDate referenceDate = DateUtils.getAgeReferenceDate();
+		if (current.referenceDate != referenceDate) {
+			synchronized (this) {
+				current = generation;
+				if (current.referenceDate != referenceDate) {
+					current = new Generation(referenceDate);
+					generation = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private static int calculate(Person person, LocalDate referenceDate) {
+		AgeBracket bracket = AgeBracket.of(DateUtils.getAge(person.getParsedBirthDate(), referenceDate));
+		int forums = 1 << ForumType.All.ordinal();
+		if (person.getGender() != Gender.Female) {
+			forums |= 1 << ForumType.Male.ordinal();
+		}
+		if (person.getGender() != Gender.Male) {
+			forums |= 1 << ForumType.Female.ordinal();
+		}
+		if (bracket == AgeBracket.Senior) {
+			forums |= 1 << ForumType.Seniors.ordinal();
+		}
+		return forums | bracket.ordinal() << BRACKET_SHIFT;
+	}
+}
@@ -1,11 +1,15 @@
 package gym.management.Strategy.Validation;
 
 import gym.customers.Client;
-import gym.customers.Gender;
 import gym.management.Sessions.*;
-import gym.management.Strategy.DateUtils;
 
+/**
+ * Checks a client against the restrictions of a session's forum, with single bit tests against the
+ * client's entry in the {@link EligibilityCache}.
+ */
 public class ForumValidator {
+	private static final EligibilityCache eligibilityCache = EligibilityCache.getInstance();
+
 	/**
 	 * Checks if a client matches the seniority requirement of the session's forum.
 	 *
@@ -16,7 +20,7 @@ public class ForumValidator {
 	 * @return {@code true} if the client meets the seniority requirements, {@code false} otherwise.
 	 */
 	public static boolean clientMatchesSeniority(Session session, Client client) {
-		return !(session.getForum() == ForumType.Seniors && DateUtils.getAge(client.getBirthDate()) < 65);
+		return session.getForum() != ForumType.Seniors || eligibilityCache.isEligible(client, ForumType.Seniors);
 	}
 
 	/**
@@ -30,7 +34,7 @@ public class ForumValidator {
 	 * @return {@code true} if the client meets the gender requirements, {@code false} otherwise.
 	 */
 	public static boolean clientMatchesGender(Session session, Client client) {
-		return !((session.getForum() == ForumType.Male && client.getGender() == Gender.Female) ||
-				(session.getForum() == ForumType.Female && client.getGender() == Gender.Male));
+		ForumType forum = session.getForum();
+		return forum == ForumType.Seniors || eligibilityCache.isEligible(client, forum);
 	}
 }
\ No newline at end of file
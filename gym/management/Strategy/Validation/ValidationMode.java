@@ -0,0 +1,15 @@
+package gym.management.Strategy.Validation;
+
+/**
+ * How a {@link CompiledValidator} evaluates its rules.
+ */
+public enum ValidationMode {
+	/**
+	 * Stop at the first rule that fails. Rules are evaluated cheapest and most likely to fail first.
+	 */
+	FailFast,
+	/**
+	 * Evaluate every rule and report all the failures.
+	 */
+	CollectAll
+}
@@ -1,5 +1,7 @@
 package gym.management.Strategy.Validation;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * A class representing a validation payload that encapsulates a validation rule
  * and a corresponding message.
@@ -8,16 +10,29 @@ package gym.management.Strategy.Validation;
  * message that can be used to describe the validation outcome. It provides a
  * method to validate an input using the rule and retrieve the message.</p>
  *
+ * <p>Each payload also carries a relative evaluation cost and counts how often its rule fails,
+ * which a {@link CompiledValidator} uses to decide the order in which rules are evaluated.</p>
+ *
  * @param <T> the type of the input to be validated
  */
 public class ValidationPayload<T> {
 	private final ValidationRule<T> rule;
 	private final String message;
-
+	private final int cost;
+	private final LongAdder evaluations = new LongAdder();
+	private final LongAdder failures = new LongAdder();
 
 	public ValidationPayload(ValidationRule<T> rule, String message) {
+		this(rule, message, 1);
+	}
+
+	public ValidationPayload(ValidationRule<T> rule, String message, int cost) {
+		if (cost < 1) {
+			throw new IllegalArgumentException("Rule cost must be positive");
+		}
 		this.rule = rule;
 		this.message = message;
+		this.cost = cost;
 	}
 
 	/**
@@ -30,7 +45,36 @@ public class ValidationPayload<T> {
 		return rule.validate(input);
 	}
 
+	/**
+	 * Validates the given input and records whether the rule failed.
+	 *
+	 * @param input the input to be validated
+	 * @return {@code true} if the input satisfies the validation rule, {@code false} otherwise
+	 */
+	boolean validateAndRecord(T input) {
+		boolean valid = rule.validate(input);
+		evaluations.increment();
+		if (!valid) {
+			failures.increment();
+		}
+		return valid;
+	}
+
 	public String getMessage() {
 		return message;
 	}
+
+	public int getCost() {
+		return cost;
+	}
+
+	/**
+	 * Estimates how often the rule fails, from the evaluations recorded so far. Rules that have not
+	 * been evaluated yet are assumed to fail half of the time.
+	 *
+	 * @return the estimated failure rate, strictly between 0 and 1.
+	 */
+	public double getFailureRate() {
+		return (failures.sum() + 1.0) / (evaluations.sum() + 2.0);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package gym.management.Strategy.Validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The immutable outcome of one {@link CompiledValidator#validate} call: a bitmask of the failed rules,
+ * indexed by the order in which the rules were added to the {@link ValidationRuleSet}.
+ *
+ * <p>In {@link ValidationMode#FailFast} mode at most one rule is reported, even if others would have failed too.</p>
+ */
+public final class ValidationResult {
+	private final long failedRules;
+	private final String[] messages;
+
+	ValidationResult(long failedRules, String[] messages) {
+		this.failedRules = failedRules;
+		this.messages = messages;
+	}
+
+	public boolean isValid() {
+		return failedRules == 0;
+	}
+
+	/**
+	 * Checks whether a rule failed.
+	 *
+	 * @param ruleIndex the rule's position in the order the rules were added.
+	 * @return {@code true} if the rule was evaluated and failed.
+	 */
+	public boolean hasFailed(int ruleIndex) {
+		return (failedRules & (1L << ruleIndex)) != 0;
+	}
+
+	/**
+	 * Returns the failed rules as a bitmask; bit {@code i} is set if the {@code i}th rule added failed.
+	 *
+	 * @return the bitmask of failed rules.
+	 */
+	public long getFailedRules() {
+		return failedRules;
+	}
+
+	/**
+	 * Returns the messages of the failed rules, in the order the rules were added.
+	 *
+	 * @return a new list of failure messages (empty if the input is valid).
+	 */
+	public List<String> getFailureMessages() {
+		List<String> failureMessages = new ArrayList<>(Long.bitCount(failedRules));
+		for (long remaining = failedRules; remaining != 0; remaining &= remaining - 1) {
+			failureMessages.add(messages[Long.numberOfTrailingZeros(remaining)]);
+		}
+		return failureMessages;
+	}
+}
@@ -12,9 +12,18 @@ import java.util.List;
  * with messages, validating an input against all rules, and retrieving the
  * failure messages for any validations that fail.</p>
  *
+ * <p>{@link #validateAll} keeps its failures in the rule set and is meant for one thread at a time.
+ * For shared use, {@link #compile(ValidationMode) compile} the rule set into a
+ * {@link CompiledValidator}, which returns an immutable {@link ValidationResult} per call, can
+ * short-circuit on the first failure, and evaluates the rules in their cheapest order.</p>
+ *
  * @param <T> the type of the input to be validated
  */
 public class ValidationRuleSet<T> implements Iterable<ValidationPayload<T>> {
+	/**
+	 * The most rules a rule set can hold, one per bit of a {@link ValidationResult}.
+	 */
+	public static final int MAX_RULES = Long.SIZE;
 	/**
 	 * The list of validation rules and their associated messages.
 	 */
@@ -31,7 +40,33 @@ public class ValidationRuleSet<T> implements Iterable<ValidationPayload<T>> {
 	 * @param message the message to be associated with the rule
 	 */
 	public void addRule(ValidationRule<T> rule, String message) {
-		rules.add(new ValidationPayload<>(rule, message));
+		addRule(rule, message, 1);
+	}
+
+	/**
+	 * Adds a validation rule with its associated message and relative evaluation cost to the rule set.
+	 *
+	 * @param rule    the validation rule to be added
+	 * @param message the message to be associated with the rule
+	 * @param cost    how expensive the rule is to evaluate, relative to the other rules (at least 1)
+	 * @throws IllegalStateException if the rule set already holds {@link #MAX_RULES} rules
+	 */
+	public void addRule(ValidationRule<T> rule, String message, int cost) {
+		if (rules.size() == MAX_RULES) {
+			throw new IllegalStateException("A rule set cannot hold more than " + MAX_RULES + " rules");
+		}
+		rules.add(new ValidationPayload<>(rule, message, cost));
+	}
+
+	/**
+	 * Compiles the rules added so far into an immutable validator that can be shared across threads.
+	 * Rules added later are not part of it.
+	 *
+	 * @param mode whether to stop at the first failure or to collect them all
+	 * @return the compiled validator
+	 */
+	public CompiledValidator<T> compile(ValidationMode mode) {
+		return new CompiledValidator<>(new ArrayList<>(rules), mode);
 	}
 
 	/**
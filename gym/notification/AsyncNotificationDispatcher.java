@@ -0,0 +1,261 @@
+package gym.notification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Delivers messages on a fixed pool of worker threads, so that a gym-wide broadcast does not block
+ * the sender for the whole fan-out.
+ *
+ * <ul>
+ *   <li><b>Ordering:</b> every observer is assigned to one worker, by identity, and each worker
+ *       delivers its queue in order, so an observer receives its messages in dispatch order.</li>
+ *   <li><b>Batching:</b> a message is created once by the {@link MessageStore} and queued as one batch per worker holding up to
+ *       {@code batchSize} of that worker's recipients, not one task per recipient, and a worker
+ *       drains all of its queued batches each time it wakes up.</li>
+ *   <li><b>Back-pressure:</b> each worker's queue holds at most {@code queueCapacity} batches;
+ *       when it is full, {@link #dispatch} blocks until the worker catches up, so a slow observer
+ *       slows the sender instead of exhausting memory.</li>
+ *   <li><b>Metrics:</b> the latency from dispatch to the delivery of each batch is recorded in
+ *       {@link #getMetrics()}.</li>
+ * </ul>
+ *
+ * <p>The workers are daemon threads. Call {@link #flush()} before reading the inboxes, and
+ * {@link #close()} before exiting, to make sure every message has been delivered. Closing stops
+ * new dispatches, then lets each worker deliver everything already queued before it exits; a
+ * flush after closing waits for the workers to exit.</p>
+ */
+public class AsyncNotificationDispatcher implements NotificationDispatcher {
+	private static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private final Worker[] workers;
+	private final int batchSize;
+	private final MessageStore messageStore = MessageStore.getInstance();
+	private final DeliveryMetrics.Recorder metrics = new DeliveryMetrics.Recorder();
+	// Dispatches and flushes hold the read lock while queueing, so none can queue behind a worker that is stopping
+	private final ReentrantReadWriteLock state = new ReentrantReadWriteLock();
+	private boolean closed; // Guarded by state
+
+	/**
+	 * A run of recipients for one message, a flush marker when {@code recipients} is null, or {@link #STOP}.
+	 */
+	private static final class Batch {
+		private final Notification message;
+		private final NotificationObserver[] recipients;
+		private final int size;
+		private final long dispatchedAt;
+		private final CountDownLatch flushed;
+
+		Batch(Notification message, NotificationObserver[] recipients, int size, long dispatchedAt) {
+			this.message = message;
+			this.recipients = recipients;
+			this.size = size;
+			this.dispatchedAt = dispatchedAt;
+			this.flushed = null;
+		}
+
+		Batch(CountDownLatch flushed) {
+			this.message = null;
+			this.recipients = null;
+			this.size = 0;
+			this.dispatchedAt = 0;
+			this.flushed = flushed;
+		}
+	}
+
+	// Queued last to each worker by close(), once no more batches can follow it
+	private static final Batch STOP = new Batch(null);
+
+	/**
+	 * Creates a dispatcher with the default batch size of 1024 recipients.
+	 *
+	 * @param workerCount   the number of worker threads.
+	 * @param queueCapacity the number of batches each worker may have queued before senders block.
+	 */
+	public AsyncNotificationDispatcher(int workerCount, int queueCapacity) {
+		this(workerCount, queueCapacity, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a dispatcher.
+	 *
+	 * @param workerCount   the number of worker threads.
+	 * @param queueCapacity the number of batches each worker may have queued before senders block.
+	 * @param batchSize     the largest number of recipients in one batch.
+	 */
+	public AsyncNotificationDispatcher(int workerCount, int queueCapacity, int batchSize) {
+		if (workerCount < 1 || queueCapacity < 1 || batchSize < 1) {
+			throw new IllegalArgumentException("Worker count, queue capacity and batch size must be positive");
+		}
+		this.batchSize = batchSize;
+		this.workers = new Worker[workerCount];
+		for (int i = 0; i < workerCount; i++) {
+			workers[i] = new Worker(i, queueCapacity);
+			workers[i].start();
+		}
+	}
+
+	private int workerOf(NotificationObserver observer) {
+		int hash = System.identityHashCode(observer);
+		return Math.floorMod(hash ^ (hash >>> 16), workers.length);
+	}
+
+	@Override
+	public void dispatch(Collection<? extends NotificationObserver> recipients, String message) {
+		state.readLock().lock();
+		try {
+			if (closed) {
+				throw new IllegalStateException("The notification dispatcher is closed");
+			}
+			queueBatches(recipients, message);
+		} finally {
+			state.readLock().unlock();
+		}
+	}
+
+	private void queueBatches(Collection<? extends NotificationObserver> recipients, String message) {
+		long dispatchedAt = System.nanoTime();
+		// Copied once, since the recipients may be a live view that grows while it is being split up
+		NotificationObserver[] snapshot = recipients.toArray(new NotificationObserver[0]);
+		Notification notification = messageStore.publish(message);
+		NotificationObserver[][] pending = new NotificationObserver[workers.length][];
+		int[] pendingSizes = new int[workers.length];
+		for (NotificationObserver recipient : snapshot) {
+			int worker = workerOf(recipient);
+			if (pending[worker] == null) {
+				pending[worker] = new NotificationObserver[Math.min(batchSize, snapshot.length)];
+			}
+			pending[worker][pendingSizes[worker]++] = recipient;
+			if (pendingSizes[worker] == batchSize) {
+				workers[worker].enqueue(new Batch(notification, pending[worker], batchSize, dispatchedAt));
+				pending[worker] = null;
+				pendingSizes[worker] = 0;
+			}
+		}
+		for (int worker = 0; worker < workers.length; worker++) {
+			if (pendingSizes[worker] > 0) {
+				workers[worker].enqueue(new Batch(notification, pending[worker], pendingSizes[worker], dispatchedAt));
+			}
+		}
+	}
+
+	@Override
+	public void flush() {
+		CountDownLatch flushed = new CountDownLatch(workers.length);
+		boolean stopping;
+		state.readLock().lock();
+		try {
+			stopping = closed;
+			if (!stopping) {
+				for (Worker worker : workers) {
+					worker.enqueue(new Batch(flushed));
+				}
+			}
+		} finally {
+			state.readLock().unlock();
+		}
+		if (stopping) {
+			awaitWorkers(); // The workers deliver everything queued before they stop
+			return;
+		}
+		try {
+			flushed.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for notifications to be delivered", e);
+		}
+	}
+
+	@Override
+	public DeliveryMetrics getMetrics() {
+		return metrics.snapshot();
+	}
+
+	@Override
+	public void close() {
+		state.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		} finally {
+			state.writeLock().unlock();
+		}
+		for (Worker worker : workers) {
+			worker.enqueue(STOP);
+		}
+		awaitWorkers();
+	}
+
+	private void awaitWorkers() {
+		try {
+			for (Worker worker : workers) {
+				worker.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for notifications to be delivered", e);
+		}
+	}
+
+	private final class Worker extends Thread {
+		private final BlockingQueue<Batch> queue;
+		private final List<Batch> drained = new ArrayList<>();
+
+		Worker(int index, int queueCapacity) {
+			super("notification-worker-" + index);
+			setDaemon(true);
+			this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		}
+
+		void enqueue(Batch batch) {
+			try {
+				queue.put(batch); // Blocks while the queue is full
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while queueing a notification", e);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					drained.add(queue.take());
+					queue.drainTo(drained);
+					for (Batch batch : drained) {
+						if (batch == STOP) {
+							return; // Everything queued before it has been delivered
+						}
+						deliver(batch);
+					}
+					drained.clear();
+				}
+			} catch (InterruptedException e) {
+				// Interrupted from outside: stop without delivering the rest
+			}
+		}
+
+		private void deliver(Batch batch) {
+			if (batch.recipients == null) {
+				batch.flushed.countDown();
+				return;
+			}
+			int failures = 0;
+			for (int i = 0; i < batch.size; i++) {
+				try {
+					batch.recipients[i].update(batch.message);
+				} catch (RuntimeException e) {
+					failures++;
+				}
+			}
+			metrics.recordBatch(batch.size, failures, System.nanoTime() - batch.dispatchedAt);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package gym.notification;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A snapshot of a {@link NotificationDispatcher}'s delivery counts and latencies.
+ *
+ * <p>A batch's latency runs from the moment its message was dispatched until the last recipient in
+ * the batch has received it. Percentiles are estimated from a histogram with power-of-two buckets,
+ * so they are exact to within a factor of two.</p>
+ */
+public final class DeliveryMetrics {
+	private final long deliveries;
+	private final long failures;
+	private final long batches;
+	private final long totalLatencyNanos;
+	private final long maxLatencyNanos;
+	private final long[] latencyHistogram;
+
+	private DeliveryMetrics(long deliveries, long failures, long batches, long totalLatencyNanos, long maxLatencyNanos,
+			long[] latencyHistogram) {
+		this.deliveries = deliveries;
+		this.failures = failures;
+		this.batches = batches;
+		this.totalLatencyNanos = totalLatencyNanos;
+		this.maxLatencyNanos = maxLatencyNanos;
+		this.latencyHistogram = latencyHistogram;
+	}
+
+	/**
+	 * Returns the number of messages delivered to a recipient, counting each recipient separately.
+	 *
+	 * @return the number of deliveries.
+	 */
+	public long getDeliveries() {
+		return deliveries;
+	}
+
+	/**
+	 * Returns the number of deliveries in which the observer threw an exception.
+	 *
+	 * @return the number of failed deliveries.
+	 */
+	public long getFailures() {
+		return failures;
+	}
+
+	public long getBatches() {
+		return batches;
+	}
+
+	public long getMeanLatencyNanos() {
+		return batches == 0 ? 0 : totalLatencyNanos / batches;
+	}
+
+	public long getMaxLatencyNanos() {
+		return maxLatencyNanos;
+	}
+
+	/**
+	 * Estimates a latency percentile over all batches.
+	 *
+	 * @param percentile the percentile, between 0 and 100.
+	 * @return the upper bound of the histogram bucket holding the percentile, in nanoseconds.
+	 */
+	public long getLatencyPercentileNanos(double percentile) {
+		long rank = (long) Math.ceil(batches * percentile / 100);
+		long seen = 0;
+		for (int bucket = 0; bucket < latencyHistogram.length; bucket++) {
+			seen += latencyHistogram[bucket];
+			if (seen >= rank && seen > 0) {
+				return bucket == 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("deliveries=%d failures=%d batches=%d meanLatency=%dns p99Latency<=%dns maxLatency=%dns",
+				deliveries, failures, batches, getMeanLatencyNanos(), getLatencyPercentileNanos(99), maxLatencyNanos);
+	}
+
+	/**
+	 * Collects metrics from any number of delivering threads without locking.
+	 */
+	static final class Recorder {
+		private final LongAdder deliveries = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder batches = new LongAdder();
+		private final LongAdder totalLatencyNanos = new LongAdder();
+		private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+		// Bucket i counts the latencies below 2^i nanoseconds and at least 2^(i-1)
+		private final AtomicLongArray latencyHistogram = new AtomicLongArray(64);
+
+		void recordBatch(int recipients, int failedDeliveries, long latencyNanos) {
+			deliveries.add(recipients - failedDeliveries);
+			failures.add(failedDeliveries);
+			batches.increment();
+			totalLatencyNanos.add(latencyNanos);
+			maxLatencyNanos.accumulate(latencyNanos);
+			latencyHistogram.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(latencyNanos, 0)));
+		}
+
+		DeliveryMetrics snapshot() {
+			long[] histogram = new long[latencyHistogram.length()];
+			for (int i = 0; i < histogram.length; i++) {
+				histogram[i] = latencyHistogram.get(i);
+			}
+			return new DeliveryMetrics(deliveries.sum(), failures.sum(), batches.sum(), totalLatencyNanos.sum(),
+					maxLatencyNanos.get(), histogram);
+		}
+	}
+}
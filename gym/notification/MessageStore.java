@@ -0,0 +1,38 @@
+package gym.notification;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates every notification message once, with a compact integer ID, so that a broadcast to
+ * thousands of clients costs one copy of its text plus one reference per inbox.
+ *
+ * <p>Like the {@code BankManager}, the store is a process-wide singleton that is safe to use from
+ * multiple threads. It does not keep the messages itself: a message lives exactly as long as an
+ * inbox or a queued delivery refers to it (see {@link Notification}), so a client that leaves, or a
+ * whole gym that is dropped, takes its messages with it.</p>
+ */
+public class MessageStore {
+	private final AtomicInteger nextId = new AtomicInteger();
+
+	private MessageStore() {
+	}
+
+	// Initialized on first access by the class loader, which makes getInstance() thread-safe without locking
+	private static class InstanceHolder {
+		private static final MessageStore INSTANCE = new MessageStore();
+	}
+
+	public static MessageStore getInstance() {
+		return InstanceHolder.INSTANCE;
+	}
+
+	/**
+	 * Creates a new message, to be handed to all of its recipients.
+	 *
+	 * @param text the message text.
+	 * @return the message.
+	 */
+	public Notification publish(String text) {
+		return new Notification(nextId.getAndIncrement(), text, System.currentTimeMillis());
+	}
+}
@@ -0,0 +1,38 @@
+package gym.notification;
+
+/**
+ * A message created once by the {@link MessageStore}, however many inboxes it was delivered to.
+ *
+ * <p>Every inbox the message is delivered to holds a reference to this one instance rather than its
+ * own copy of the text. The message is reclaimed by the garbage collector once no inbox (and no
+ * queued delivery) refers to it, e.g. when its last holder evicts it or is dropped along with its
+ * client.</p>
+ */
+public final class Notification {
+	private final int id;
+	private final String text;
+	private final long sentAtMillis;
+
+	Notification(int id, String text, long sentAtMillis) {
+		this.id = id;
+		this.text = text;
+		this.sentAtMillis = sentAtMillis;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Returns the time the message was sent, in milliseconds since the epoch.
+	 *
+	 * @return the time the message was sent.
+	 */
+	public long getSentAtMillis() {
+		return sentAtMillis;
+	}
+}
@@ -0,0 +1,39 @@
+package gym.notification;
+
+import java.util.Collection;
+
+/**
+ * Delivers a notification subject's messages to its observers.
+ *
+ * <p>Implementations may deliver on the caller's thread or hand the messages to worker threads,
+ * but each observer always receives its messages in the order they were dispatched.</p>
+ */
+public interface NotificationDispatcher extends AutoCloseable {
+
+	/**
+	 * Delivers a message to every recipient. The recipients are read before this method returns,
+	 * so the caller may change the collection afterwards.
+	 *
+	 * @param recipients the observers to deliver to.
+	 * @param message    the message.
+	 */
+	void dispatch(Collection<? extends NotificationObserver> recipients, String message);
+
+	/**
+	 * Waits until every message dispatched so far has been delivered.
+	 */
+	void flush();
+
+	/**
+	 * Returns the delivery counts and latencies recorded so far.
+	 *
+	 * @return a snapshot of the dispatcher's metrics.
+	 */
+	DeliveryMetrics getMetrics();
+
+	/**
+	 * Delivers the outstanding messages and releases the dispatcher's threads, if any.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,157 @@
+package gym.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A client's notifications, held as a ring of references to messages shared with the other inboxes
+ * they were delivered to (see {@link MessageStore}).
+ *
+ * <p>The inbox keeps at most {@code capacity} messages, dropping the oldest when a new one arrives,
+ * and, when a maximum age is set, drops messages older than that whenever it is written or read.
+ * The ring starts small and grows on demand up to its capacity. A read cursor marks the first unread
+ * message, so {@link #readUnread()} returns only what arrived since the last call.</p>
+ *
+ * <p>The defaults come from {@code -Dgym.notification.inboxCapacity} (1024 messages) and
+ * {@code -Dgym.notification.maxAgeSeconds} (0, meaning messages never expire). The inbox may be
+ * written by a delivery thread while it is read elsewhere.</p>
+ */
+public class NotificationInbox {
+	private static final int DEFAULT_CAPACITY = Integer.getInteger("gym.notification.inboxCapacity", 1024);
+	private static final long DEFAULT_MAX_AGE_MILLIS = Long.getLong("gym.notification.maxAgeSeconds", 0) * 1000;
+	private static final int INITIAL_SLOTS = 4;
+
+	private final MessageStore messageStore;
+	private final int capacity;
+	private final long maxAgeMillis;
+	private Notification[] messages;
+	private int head; // Slot of the oldest message
+	private int size;
+	private long received; // Messages ever received; the newest has sequence number received - 1
+	private long readCursor; // Sequence number of the first unread message
+
+	public NotificationInbox() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_AGE_MILLIS);
+	}
+
+	/**
+	 * Creates an inbox.
+	 *
+	 * @param capacity     the most messages the inbox holds.
+	 * @param maxAgeMillis the age after which messages are dropped, or 0 to keep them until capacity forces them out.
+	 */
+	public NotificationInbox(int capacity, long maxAgeMillis) {
+		if (capacity < 1 || maxAgeMillis < 0) {
+			throw new IllegalArgumentException("Inbox capacity must be positive and the maximum age not negative");
+		}
+		this.messageStore = MessageStore.getInstance();
+		this.capacity = capacity;
+		this.maxAgeMillis = maxAgeMillis;
+		this.messages = new Notification[Math.min(INITIAL_SLOTS, capacity)];
+	}
+
+	/**
+	 * Adds a stored message to the inbox.
+	 *
+	 * @param notification the message.
+	 */
+	public synchronized void add(Notification notification) {
+		evictExpired();
+		if (size == capacity) {
+			evictOldest();
+		}
+		if (size == messages.length) {
+			grow();
+		}
+		messages[(head + size) % messages.length] = notification;
+		size++;
+		received++;
+	}
+
+	/**
+	 * Stores a message that was sent to this inbox alone and adds it.
+	 *
+	 * @param text the message text.
+	 */
+	public void add(String text) {
+		add(messageStore.publish(text));
+	}
+
+	private void grow() {
+		Notification[] grown = new Notification[(int) Math.min(capacity, messages.length * 2L)];
+		for (int i = 0; i < size; i++) {
+			grown[i] = messages[(head + i) % messages.length];
+		}
+		messages = grown;
+		head = 0;
+	}
+
+	private void evictOldest() {
+		messages[head] = null; // Lets the message be reclaimed once no other inbox holds it
+		head = (head + 1) % messages.length;
+		size--;
+	}
+
+	private void evictExpired() {
+		if (maxAgeMillis == 0) {
+			return;
+		}
+		long oldestAllowed = System.currentTimeMillis() - maxAgeMillis;
+		while (size > 0 && messages[head].getSentAtMillis() < oldestAllowed) {
+			evictOldest();
+		}
+	}
+
+	// Texts of the held messages from the given sequence number on, oldest first
+	private List<String> textsFrom(long sequence) {
+		long oldest = received - size;
+		int skip = (int) (Math.max(sequence, oldest) - oldest);
+		List<String> texts = new ArrayList<>(size - skip);
+		for (int i = skip; i < size; i++) {
+			texts.add(messages[(head + i) % messages.length].getText());
+		}
+		return texts;
+	}
+
+	/**
+	 * Returns the texts of all the messages in the inbox, oldest first. Does not move the read cursor.
+	 *
+	 * @return a new list of the message texts.
+	 */
+	public synchronized List<String> getMessages() {
+		evictExpired();
+		return textsFrom(0);
+	}
+
+	/**
+	 * Returns the texts of the messages that arrived since the last call, oldest first, and marks them as read.
+	 * Unread messages that were evicted in the meantime are skipped.
+	 *
+	 * @return a new list of the unread message texts.
+	 */
+	public synchronized List<String> readUnread() {
+		evictExpired();
+		List<String> unread = textsFrom(readCursor);
+		readCursor = received;
+		return unread;
+	}
+
+	/**
+	 * Returns the number of messages that arrived since the last {@link #readUnread()} and are still held.
+	 *
+	 * @return the number of unread messages.
+	 */
+	public synchronized int getUnreadCount() {
+		evictExpired();
+		return (int) Math.min(size, received - readCursor);
+	}
+
+	/**
+	 * Returns the number of messages in the inbox.
+	 *
+	 * @return the number of held messages.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+}
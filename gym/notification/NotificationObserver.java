@@ -3,5 +3,15 @@ package gym.notification;
 // Observer interface
 public interface NotificationObserver {
 	void update(String message);
+
+	/**
+	 * Receives a message created by the {@link MessageStore}. Observers that keep messages can keep this
+	 * shared instance instead of another copy of its text; by default the text is passed to {@link #update(String)}.
+	 *
+	 * @param notification the message.
+	 */
+	default void update(Notification notification) {
+		update(notification.getText());
+	}
 }
 
@@ -0,0 +1,41 @@
+package gym.notification;
+
+import java.util.Collection;
+
+/**
+ * Delivers every message on the caller's thread before {@link #dispatch} returns.
+ * This is the default, so a notification is in every inbox as soon as it has been sent.
+ */
+public class SynchronousNotificationDispatcher implements NotificationDispatcher {
+	private final MessageStore messageStore = MessageStore.getInstance();
+	private final DeliveryMetrics.Recorder metrics = new DeliveryMetrics.Recorder();
+
+	@Override
+	public void dispatch(Collection<? extends NotificationObserver> recipients, String message) {
+		long dispatchedAt = System.nanoTime();
+		Notification notification = messageStore.publish(message);
+		int failures = 0;
+		for (NotificationObserver recipient : recipients) {
+			try {
+				recipient.update(notification);
+			} catch (RuntimeException e) {
+				failures++;
+			}
+		}
+		metrics.recordBatch(recipients.size(), failures, System.nanoTime() - dispatchedAt);
+	}
+
+	@Override
+	public void flush() {
+		// Nothing is ever outstanding
+	}
+
+	@Override
+	public DeliveryMetrics getMetrics() {
+		return metrics.snapshot();
+	}
+
+	@Override
+	public void close() {
+	}
+}
@@ -0,0 +1,229 @@
+package tests.management;
+
+import gym.customers.*;
+import gym.management.*;
+import gym.management.Sessions.*;
+import gym.management.Strategy.BankManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GymJournalTest {
+	@TempDir
+	Path directory;
+	private Path journalFile;
+	private Gym gym;
+	private Secretary secretary;
+	private Client nofar;
+	private Client yuval;
+	private Instructor instructor;
+	private Session session;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		journalFile = directory.resolve("gym.journal");
+		gym = new Gym();
+		gym.enableJournal(journalFile);
+		gym.setName("CrossFit Center");
+		gym.setSecretary(new Person("Sam Secretary", 1500, Gender.Male, "01-01-1988"), 5000);
+		secretary = gym.getSecretary();
+		nofar = secretary.registerClient(new Person("Nofar", 1200, Gender.Female, "03-07-1998"));
+		yuval = secretary.registerClient(new Person("Yuval", 800, Gender.Male, "12-12-1999"));
+		instructor = secretary.hireInstructor(new Person("Dana", 0, Gender.Female, "01-01-1985"), 70,
+				new ArrayList<>(Arrays.asList(SessionType.Pilates, SessionType.Ninja)));
+		session = secretary.addSession(SessionType.Pilates, "01-02-2025 10:00", ForumType.All, instructor);
+		secretary.registerClientToLesson(nofar, session);
+		secretary.registerClientToLesson(yuval, session);
+		secretary.notify(session, "Bring a mat");
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		gym.getJournal().close();
+	}
+
+	@Test
+	void testRecoverRebuildsGym() throws Exception {
+		secretary.notify("Happy New Year");
+		secretary.paySalaries();
+		gym.getJournal().close();
+
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			assertEquals(gym.toString(), recovered.toString());
+			assertEquals(nofar.getNotifications(), recovered.findClient(nofar.getId()).getNotifications());
+			assertEquals(List.of("Bring a mat", "Happy New Year"), recovered.findClient(yuval.getId()).getNotifications());
+			assertEquals(instructor.getSessionCount(), recovered.getInstructors().get(0).getSessionCount());
+			assertTrue(recovered.getSessions().get(0).hasClient(nofar));
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testBookingIsJournaledAsOneRecord() throws Exception {
+		Client maya = secretary.registerClient(new Person("Maya", 500, Gender.Female, "05-05-1995"));
+		long recordsBefore = gym.getJournal().getRecordCount();
+		assertEquals(ReservationStatus.Reserved, gym.reserveSeatAndCharge(maya, session));
+		assertEquals(recordsBefore + 1, gym.getJournal().getRecordCount());
+		assertTrue(gym.releaseSeatAndRefund(yuval, session));
+		assertEquals(recordsBefore + 2, gym.getJournal().getRecordCount());
+		gym.getJournal().close();
+		double mayaBalance = maya.getBalance();
+		double yuvalBalance = yuval.getBalance();
+		BankManager.getInstance().restoreBalance(maya.getId(), 0);
+		BankManager.getInstance().restoreBalance(yuval.getId(), 0);
+
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			assertTrue(recovered.getSessions().get(0).hasClient(maya));
+			assertFalse(recovered.getSessions().get(0).hasClient(yuval));
+			assertEquals(mayaBalance, maya.getBalance());
+			assertEquals(yuvalBalance, yuval.getBalance());
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testCheckpointDuringConcurrentBookings() throws Exception {
+		List<Client> bookers = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			bookers.add(secretary.registerClient(new Person("Booker" + i, 500, Gender.Male, "01-01-1990")));
+		}
+		List<Thread> threads = new ArrayList<>();
+		for (Client booker : bookers) {
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 500; i++) {
+					gym.reserveSeatAndCharge(booker, session);
+					gym.releaseSeatAndRefund(booker, session);
+				}
+				gym.reserveSeatAndCharge(booker, session);
+			}));
+		}
+		threads.forEach(Thread::start);
+		while (threads.stream().anyMatch(Thread::isAlive)) {
+			gym.getJournal().checkpoint();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		gym.getJournal().close();
+		for (Client booker : bookers) {
+			BankManager.getInstance().restoreBalance(booker.getId(), 0);
+		}
+
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			for (Client booker : bookers) {
+				assertTrue(recovered.getSessions().get(0).hasClient(booker));
+				assertEquals(500 - SessionType.Pilates.getPrice(), booker.getBalance());
+			}
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testRecoverKeepsWaitlistNotifications() throws Exception {
+		Session ninja = secretary.addSession(SessionType.Ninja, "02-02-2025 10:00", ForumType.All, instructor);
+		List<Client> seated = new ArrayList<>();
+		for (int i = 0; i < SessionType.Ninja.getCapacity(); i++) {
+			Client client = secretary.registerClient(new Person("Ninja" + i, 500, Gender.Male, "01-01-1990"));
+			secretary.registerClientToLesson(client, ninja);
+			seated.add(client);
+		}
+		secretary.registerClientToLesson(nofar, ninja);
+		secretary.cancelRegistration(seated.get(0), ninja);
+		assertEquals(3, nofar.getNotifications().size());
+		gym.getJournal().close();
+
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			assertEquals(nofar.getNotifications(), recovered.findClient(nofar.getId()).getNotifications());
+			assertTrue(recovered.getSessions().get(1).hasClient(nofar));
+			assertFalse(recovered.getSessions().get(1).hasClient(seated.get(0)));
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testPayrollIsJournaledAsOneRecord() throws Exception {
+		long recordsBefore = gym.getJournal().getRecordCount();
+		secretary.paySalaries();
+		assertEquals(recordsBefore + 1, gym.getJournal().getRecordCount());
+		gym.getJournal().close();
+		double instructorBalance = instructor.getBalance();
+		BankManager.getInstance().restoreBalance(instructor.getId(), 0);
+
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			assertEquals(instructorBalance, instructor.getBalance());
+			assertEquals(0, recovered.getInstructors().get(0).getPayAccrual().getUnpaidSessions());
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testRecoverKeepsUnpaidSessions() throws Exception {
+		secretary.addSession(SessionType.Ninja, "01-03-2025 10:00", ForumType.All, instructor);
+		secretary.paySalaries(YearMonth.of(2025, 2));
+		gym.getJournal().checkpoint();
+		secretary.addSession(SessionType.Ninja, "01-04-2025 10:00", ForumType.All, instructor);
+		gym.getJournal().close();
+
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			PayAccrual payAccrual = recovered.getInstructors().get(0).getPayAccrual();
+			assertEquals(instructor.getPayAccrual().getUnpaidByPeriod(), payAccrual.getUnpaidByPeriod());
+			assertEquals(2, payAccrual.getUnpaidSessions());
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testRecoverAfterCheckpoint() throws Exception {
+		secretary.unregisterClient(yuval); // Still holds a seat, so the checkpoint must keep them
+		gym.getJournal().checkpoint();
+		Client maya = secretary.registerClient(new Person("Maya", 500, Gender.Female, "05-05-1995"));
+		secretary.registerClientToLesson(maya, session);
+		secretary.notify("Happy New Year");
+		gym.getJournal().close();
+
+		assertFalse(Files.exists(directory.resolve("gym.journal.checkpoint")));
+		Gym recovered = Gym.recover(journalFile);
+		try {
+			assertEquals(gym.toString(), recovered.toString());
+			Session recoveredSession = recovered.getSessions().get(0);
+			assertEquals(session.getId(), recoveredSession.getId());
+			assertEquals(3, recoveredSession.getClients().size());
+			assertNull(recovered.findClient(yuval.getId()));
+			assertEquals(List.of("Bring a mat", "Happy New Year"), recovered.findClient(nofar.getId()).getNotifications());
+			assertEquals(List.of("Happy New Year"), recovered.findClient(maya.getId()).getNotifications());
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+
+	@Test
+	void testRecoverWithoutJournalStartsEmptyGym() throws Exception {
+		Gym recovered = Gym.recover(directory.resolve("new.journal"));
+		try {
+			assertTrue(recovered.getClients().isEmpty());
+			assertNotNull(recovered.getJournal());
+		} finally {
+			recovered.getJournal().close();
+		}
+	}
+}
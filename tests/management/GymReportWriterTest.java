@@ -0,0 +1,95 @@
+package tests.management;
+
+import gym.customers.*;
+import gym.management.*;
+import gym.management.Sessions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GymReportWriterTest {
+
+	@Test
+	void testParallelReportMatchesFormattedReport() throws Exception {
+		Gym gym = new Gym();
+		gym.setName("Report Gym");
+		gym.setSecretary(new Person("Sam Secretary", 1500, Gender.Male, "01-01-1988"), 5000);
+		Secretary secretary = gym.getSecretary();
+		double[] balances = {1200.5, -0.4, -2.5, 0.49, 99.99, 0};
+		for (int i = 0; i < 500; i++) {
+			secretary.registerClient(new Person("Client" + i, balances[i % balances.length],
+					i % 2 == 0 ? Gender.Female : Gender.Male, "0" + (1 + i % 9) + "-12-19" + (40 + i % 60)));
+		}
+		for (int i = 0; i < 40; i++) {
+			Instructor instructor = secretary.hireInstructor(new Person("Instructor" + i, 10.5 * i, Gender.Male, "01-01-1985"),
+					70, new ArrayList<>(Arrays.asList(SessionType.Ninja, SessionType.Pilates)));
+			secretary.addSession(SessionType.Pilates, "01-02-2025 " + (10 + i % 10) + ":00", ForumType.All, instructor);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			StringWriter parallel = new StringWriter();
+			new GymReportWriter(gym, pool, 16).writeTo(parallel);
+			assertEquals(gym.toString(), parallel.toString());
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(formattedSections(gym), body(gym.toString()));
+		assertTrue(gym.toString().startsWith("Gym Name: Report Gym\nGym Secretary: ID: " + secretary.getId()
+				+ " | Name: Sam Secretary | Gender: Male | Birthday: 01-01-1988 | Age: 36 | Balance: 1500"
+				+ " | Role: Secretary | Salary per Month: 5000\nGym Balance: "));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		gym.writeReport(bytes);
+		assertEquals(gym.toString(), bytes.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testEmptyGym() {
+		Gym gym = new Gym();
+		assertEquals("Gym Name: null\nGym Balance: 0\n\n" + formattedSections(gym), gym.toString());
+	}
+
+	private static String body(String report) {
+		return report.substring(report.indexOf("Clients Data:"));
+	}
+
+	// The report's sections as they were rendered with String.format, before the report was streamed
+	private static String formattedSections(Gym gym) {
+		StringBuilder sb = new StringBuilder();
+		Secretary secretary = gym.getSecretary();
+		sb.append("Clients Data:\n");
+		for (Client client : gym.getClients()) {
+			sb.append(String.format("ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f\n",
+					client.getId(), client.getName(), client.getGender(), client.getBirthDate(),
+					client.getAge(), client.getBalance()));
+		}
+		sb.append("\nEmployees Data:\n");
+		for (Instructor instructor : gym.getInstructors()) {
+			sb.append(String.format("ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f | Role: Instructor | Salary per Hour: %d | Certified Classes: %s\n",
+					instructor.getId(), instructor.getName(), instructor.getGender(), instructor.getBirthDate(),
+					instructor.getAge(), instructor.getBalance(), instructor.getHourlyRate(),
+					String.join(", ", instructor.getQualifications().stream().map(SessionType::toString).toList())));
+		}
+		if (secretary != null) {
+			sb.append(String.format("ID: %d | Name: %s | Gender: %s | Birthday: %s | Age: %d | Balance: %.0f | Role: Secretary | Salary per Month: %d\n",
+					secretary.getId(), secretary.getName(), secretary.getGender(), secretary.getBirthDate(),
+					secretary.getAge(), secretary.getBalance(), secretary.getSalary()));
+		}
+		sb.append("\nSessions Data:\n");
+		for (Session session : gym.getSessions()) {
+			sb.append(String.format("Session Type: %s | Date: %s | Forum: %s | Instructor: %s | Participants: %d/%d\n",
+					session.getType(), session.getDateTime(), session.getForum(), session.getInstructor().getName(),
+					session.getClients().size(), session.getType().getCapacity()));
+		}
+		sb.deleteCharAt(sb.length() - 1);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,121 @@
+package tests.management;
+
+import gym.customers.*;
+import gym.management.*;
+import gym.management.Sessions.*;
+import gym.management.Strategy.BankManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GymSnapshotTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void testSnapshotRoundTrip() throws Exception {
+		Gym gym = new Gym();
+		gym.setName("CrossFit Center");
+		gym.setSecretary(new Person("Sam Secretary", 1500, Gender.Male, "01-01-1988"), 5000);
+		Secretary secretary = gym.getSecretary();
+		Client nofar = secretary.registerClient(new Person("Nofar", 1200.5, Gender.Female, "03-07-1998"));
+		Client yuval = secretary.registerClient(new Person("Yuval", 800, Gender.Male, "12-12-1999"));
+		Instructor instructor = secretary.hireInstructor(new Person("Dana", 0, Gender.Female, "01-01-1985"), 70,
+				new ArrayList<>(Arrays.asList(SessionType.Ninja, SessionType.Pilates)));
+		Session pilates = secretary.addSession(SessionType.Pilates, "01-02-2025 10:00", ForumType.All, instructor);
+		Session ninja = secretary.addSession(SessionType.Ninja, "02-02-2025 18:00", ForumType.All, instructor);
+		secretary.registerClientToLesson(nofar, pilates);
+		secretary.registerClientToLesson(yuval, pilates);
+		secretary.registerClientToLesson(nofar, ninja);
+		secretary.unregisterClient(yuval); // Keeps their seat
+		secretary.notify(pilates, "Bring a mat");
+
+		Path file = directory.resolve("gym.snapshot");
+		gym.saveSnapshot(file);
+		Gym loaded = Gym.loadSnapshot(file);
+
+		assertEquals(gym.toString(), loaded.toString());
+		Instructor loadedInstructor = loaded.getInstructors().get(0);
+		assertEquals(2, loadedInstructor.getSessionCount());
+		assertEquals(instructor.getPayAccrual().getUnpaidByPeriod(), loadedInstructor.getPayAccrual().getUnpaidByPeriod());
+		assertEquals(List.of(SessionType.Ninja, SessionType.Pilates), loadedInstructor.getQualifications());
+		Session loadedPilates = loaded.getSessions().get(0);
+		assertEquals(pilates.getId(), loadedPilates.getId());
+		assertTrue(loadedPilates.hasClient(yuval));
+		assertNull(loaded.findClient(yuval.getId()));
+		assertEquals(List.of("Bring a mat"), loaded.findClient(nofar.getId()).getNotifications());
+
+		loaded.getSecretary().notify("Welcome to the new host");
+		assertEquals(List.of("Bring a mat", "Welcome to the new host"), loaded.findClient(nofar.getId()).getNotifications());
+	}
+
+	@Test
+	void testRejectsOtherFiles() throws IOException {
+		Path file = directory.resolve("other.bin");
+		Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+		assertThrows(IOException.class, () -> Gym.loadSnapshot(file));
+	}
+
+	@Test
+	void testRejectsCorruptSnapshotWithoutTouchingBalances() throws Exception {
+		Gym gym = new Gym();
+		gym.setSecretary(new Person("Sam Secretary", 1500, Gender.Male, "01-01-1988"), 5000);
+		Client nofar = gym.getSecretary().registerClient(new Person("Nofar", 1200, Gender.Female, "03-07-1998"));
+		Path file = directory.resolve("gym.snapshot");
+		gym.saveSnapshot(file);
+		byte[] bytes = Files.readAllBytes(file);
+		BankManager.getInstance().deposit(nofar.getId(), 100);
+
+		for (int i = 0; i < bytes.length; i++) {
+			byte[] corrupt = bytes.clone();
+			corrupt[i] ^= 0x20;
+			Files.write(file, corrupt);
+			assertThrows(IOException.class, () -> Gym.loadSnapshot(file), "Byte " + i);
+		}
+		assertEquals(1300, nofar.getBalance());
+
+		// A body that passes the checksum but does not parse is still rejected before anything is restored
+		byte[] badDate = withChecksum(replace(bytes, "03-07-1998", "03-17-1998"));
+		Files.write(file, badDate);
+		IOException e = assertThrows(IOException.class, () -> Gym.loadSnapshot(file));
+		assertInstanceOf(DateTimeParseException.class, e.getCause());
+		assertEquals(1300, nofar.getBalance());
+	}
+
+	private static byte[] replace(byte[] bytes, String target, String replacement) {
+		String text = new String(bytes, StandardCharsets.ISO_8859_1);
+		assertTrue(text.contains(target));
+		return text.replace(target, replacement).getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	// Recomputes the checksum in the header, which follows the magic, version and body length
+	private static byte[] withChecksum(byte[] bytes) {
+		CRC32C crc = new CRC32C();
+		crc.update(bytes, 20, bytes.length - 20);
+		ByteBuffer.wrap(bytes).putInt(16, (int) crc.getValue());
+		return bytes;
+	}
+
+	@Test
+	void testRejectsTruncatedSnapshot() throws Exception {
+		Gym gym = new Gym();
+		gym.setName("Truncated");
+		Path file = directory.resolve("gym.snapshot");
+		gym.saveSnapshot(file);
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> Gym.loadSnapshot(file));
+	}
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +32,20 @@ class GymTest {
 				Arrays.asList(SessionType.Pilates, SessionType.Ninja)));
 	}
 
+	@Test
+	void testQualifiedInstructorsByType() throws Exception {
+		Secretary secretary = gym.getSecretary();
+		Instructor hired = secretary.hireInstructor(personInstructor, 1500, List.of(SessionType.Pilates, SessionType.Ninja));
+		Instructor boxer = secretary.hireInstructor(new Person("Boxer", 0, Gender.Male, "01-01-1980"), 60,
+				List.of(SessionType.ThaiBoxing, SessionType.Pilates));
+
+		assertEquals(List.of(hired, boxer), gym.getQualifiedInstructors(SessionType.Pilates));
+		assertEquals(List.of(hired), gym.getQualifiedInstructors(SessionType.Ninja));
+		assertEquals(List.of(boxer), gym.getQualifiedInstructors(SessionType.ThaiBoxing));
+		assertTrue(gym.getQualifiedInstructors(SessionType.MachinePilates).isEmpty());
+		assertThrows(UnsupportedOperationException.class, () -> gym.getQualifiedInstructors(SessionType.Ninja).clear());
+	}
+
 	@Test
 	void testSetSecretary() {
 		assertNotNull(gym.getSecretary());
@@ -71,6 +86,41 @@ class GymTest {
 		}
 	}
 
+	@Test
+	void testReserveSeatAndChargeUnderContention() throws InterruptedException {
+		Session ninjaSession = new NinjaSession("21-12-2025 18:00", ForumType.All, instructor);
+		List<Client> bookers = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Client booker = new Client(new Person("Booker" + i, 150.0, Gender.Male, "01-01-1990"));
+			bookers.add(booker);
+			threads.add(new Thread(() -> gym.reserveSeatAndCharge(booker, ninjaSession)));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(SessionType.Ninja.getCapacity(), ninjaSession.getClients().size());
+		for (Client booker : bookers) {
+			assertEquals(ninjaSession.hasClient(booker) ? 0 : 150, booker.getBalance());
+		}
+		assertEquals(ReservationStatus.AlreadyRegistered,
+				gym.reserveSeatAndCharge(ninjaSession.getClients().iterator().next(), ninjaSession));
+	}
+
+	@Test
+	void testReserveSeatRollsBackWithoutFunds() {
+		Session pilatesSession = new PilatesSession("21-12-2025 10:00", ForumType.All, instructor);
+		Client poorClient = new Client(new Person("Poor", 10.0, Gender.Female, "01-01-1990"));
+
+		assertEquals(ReservationStatus.InsufficientBalance, gym.reserveSeatAndCharge(poorClient, pilatesSession));
+		assertFalse(pilatesSession.hasClient(poorClient));
+		assertEquals(10, poorClient.getBalance());
+	}
+
 	@Test
 	void testBalanceOperations() {
 		double initialBalance = 0;
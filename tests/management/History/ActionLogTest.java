@@ -0,0 +1,74 @@
+package tests.management.History;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.History.ActionEvent;
+import gym.management.History.ActionKind;
+import gym.management.History.ActionLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActionLogTest {
+
+	@Test
+	void testSpillsToDiskAndReadsBack(@TempDir Path spillDirectory) throws IOException {
+		ActionLog log = new ActionLog(4, spillDirectory);
+		for (int i = 0; i < 10; i++) {
+			log.append(ActionEvent.custom("Action " + i));
+		}
+
+		assertEquals(10, log.size());
+		try (Stream<Path> logDirectories = Files.list(spillDirectory)) {
+			List<Path> directories = logDirectories.toList();
+			assertEquals(1, directories.size());
+			try (Stream<Path> segments = Files.list(directories.get(0))) {
+				assertEquals(3, segments.count());
+			}
+		}
+		for (int i = 0; i < 10; i++) {
+			assertEquals("Action " + i, log.renderedView().get(i));
+		}
+	}
+
+	@Test
+	void testLogsShareSpillDirectory(@TempDir Path spillDirectory) {
+		ActionLog first = new ActionLog(4, spillDirectory);
+		ActionLog second = new ActionLog(4, spillDirectory);
+		for (int i = 0; i < 10; i++) {
+			first.append(ActionEvent.custom("First " + i));
+			second.append(ActionEvent.custom("Second " + i));
+		}
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals("First " + i, first.renderedView().get(i));
+			assertEquals("Second " + i, second.renderedView().get(i));
+		}
+	}
+
+	@Test
+	void testStructuredEventsSurviveSpilling(@TempDir Path spillDirectory) {
+		ActionLog log = new ActionLog(2, spillDirectory);
+		Person client = new Person("Nofar", 1200, Gender.Female, "03-07-1998");
+		log.append(ActionEvent.clientRegistered(client));
+		log.append(ActionEvent.dateMessageSent(LocalDate.of(2025, 1, 1), "Heavy traffic"));
+		log.append(ActionEvent.salariesPaid(true));
+
+		List<ActionEvent> events = new ArrayList<>();
+		log.forEach(events::add);
+		assertEquals(ActionKind.ClientRegistered, events.get(0).getKind());
+		assertEquals(client.getId(), events.get(0).getActorId());
+		assertEquals(List.of("Registered new client: Nofar",
+				"A message was sent to everyone registered for a session on 2025-01-01 : Heavy traffic",
+				"Salaries have been paid to all employees"), new ArrayList<>(log.renderedView()));
+	}
+}
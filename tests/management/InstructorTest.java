@@ -1,6 +1,7 @@
 package tests.management;
 
 import gym.customers.*;
+import gym.management.Gym;
 import gym.management.Instructor;
 import gym.management.Sessions.SessionType;
 import gym.management.Strategy.SalaryManager;
@@ -27,11 +28,27 @@ class InstructorTest {
 		assertFalse(instructor.isQualified(SessionType.ThaiBoxing));
 	}
 
+	@Test
+	void testQualificationsAreReadOnlyAndDistinct() {
+		Instructor repeated = new Instructor(person, 50,
+				Arrays.asList(SessionType.Ninja, SessionType.Pilates, SessionType.Ninja));
+		assertEquals(List.of(SessionType.Ninja, SessionType.Pilates), repeated.getQualifications());
+		assertTrue(repeated.isQualified(SessionType.Ninja));
+		assertFalse(repeated.isQualified(SessionType.MachinePilates));
+		assertThrows(UnsupportedOperationException.class, () -> instructor.getQualifications().add(SessionType.Ninja));
+	}
+
 	@Test
 	void testCalculatePay() {
+		Gym gym = new Gym();
+		gym.setSecretary(new Person("Secretary", 0, Gender.Female, "01-01-1990"), 3000);
 		instructor.addSession();
 		instructor.addSession();
 		assertEquals(100, SalaryManager.calculatePay(instructor));
+		// Reading the pay does not settle it; a payroll run does
+		assertEquals(100, SalaryManager.calculatePay(instructor));
+
+		SalaryManager.runPayroll(gym, gym.getSecretary(), List.of(instructor));
 		assertEquals(0, SalaryManager.calculatePay(instructor));
 	}
 
@@ -0,0 +1,83 @@
+package tests.management;
+
+import gym.customers.*;
+import gym.management.*;
+import gym.management.Sessions.*;
+import gym.management.Strategy.PayrollSummary;
+import gym.management.Strategy.SalaryManager;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayAccrualTest {
+	private Gym gym;
+	private Secretary secretary;
+	private Instructor instructor;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		gym = new Gym();
+		gym.setSecretary(new Person("Sam Secretary", 0, Gender.Male, "01-01-1988"), 1000);
+		secretary = gym.getSecretary();
+		instructor = secretary.hireInstructor(new Person("Dana", 0, Gender.Female, "01-01-1985"), 50,
+				List.of(SessionType.Pilates));
+		secretary.addSession(SessionType.Pilates, "10-01-2025 10:00", ForumType.All, instructor);
+		secretary.addSession(SessionType.Pilates, "20-01-2025 10:00", ForumType.All, instructor);
+		secretary.addSession(SessionType.Pilates, "05-02-2025 10:00", ForumType.All, instructor);
+	}
+
+	@Test
+	void testSettlesOnlyTheSessionsPaidFor() {
+		PayAccrual payAccrual = instructor.getPayAccrual();
+		int paid = payAccrual.getUnpaidSessions(YearMonth.of(2025, 1));
+		// Accrued after the payroll read the count, so it was not paid for
+		instructor.addSession(LocalDateTime.of(2025, 1, 25, 10, 0));
+
+		gym.settlePayroll(List.of(instructor), new int[]{paid}, YearMonth.of(2025, 1));
+
+		assertEquals(Map.of(YearMonth.of(2025, 1), 1, YearMonth.of(2025, 2), 1), payAccrual.getUnpaidByPeriod());
+		assertEquals(2, payAccrual.getUnpaidSessions());
+	}
+
+	@Test
+	void testSessionsAreBucketedByPeriod() {
+		PayAccrual payAccrual = instructor.getPayAccrual();
+		assertEquals(Map.of(YearMonth.of(2025, 1), 2, YearMonth.of(2025, 2), 1), payAccrual.getUnpaidByPeriod());
+		assertEquals(3, payAccrual.getUnpaidSessions());
+		assertEquals(2, payAccrual.getUnpaidSessions(YearMonth.of(2025, 1)));
+		assertEquals(0, payAccrual.getUnpaidSessions(YearMonth.of(2024, 12)));
+		assertEquals(150, SalaryManager.calculatePay(instructor));
+	}
+
+	@Test
+	void testPayrollPaysEachSessionOnce() throws Exception {
+		PayrollSummary january = secretary.paySalaries(YearMonth.of(2025, 1));
+		assertEquals(1100, january.getTotal());
+		assertEquals(100, instructor.getBalance());
+		assertEquals(1, instructor.getPayAccrual().getUnpaidSessions());
+
+		secretary.addSession(SessionType.Pilates, "06-02-2025 10:00", ForumType.All, instructor);
+		PayrollSummary february = secretary.paySalaries();
+		assertEquals(1100, february.getTotal());
+		assertEquals(200, instructor.getBalance());
+		assertEquals(0, instructor.getPayAccrual().getUnpaidSessions());
+
+		assertEquals(1000, secretary.paySalaries().getTotal()); // Only the secretary's salary is left
+		assertEquals(200, instructor.getBalance());
+		assertEquals(4, instructor.getSessionCount());
+	}
+
+	@Test
+	void testUnscheduledSessionsAreDueAtAnyPayroll() {
+		instructor.addSession();
+		assertEquals(3, instructor.getPayAccrual().getUnpaidSessions(YearMonth.of(2025, 1)));
+		secretary.paySalaries(YearMonth.of(2024, 6));
+		assertEquals(50, instructor.getBalance());
+		assertEquals(3, instructor.getPayAccrual().getUnpaidSessions());
+	}
+}
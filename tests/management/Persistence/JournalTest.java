@@ -0,0 +1,77 @@
+package tests.management.Persistence;
+
+import gym.management.Persistence.Journal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalTest {
+	private static final int REGION_SIZE = 64;
+
+	private static List<String> readAll(Path file) throws IOException {
+		List<String> records = new ArrayList<>();
+		Journal.open(file, REGION_SIZE, (type, payload) -> records.add(type + ":" + Journal.getString(payload))).close();
+		return records;
+	}
+
+	@Test
+	void testRecordsSurviveReopeningAcrossRegions(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("test.journal");
+		List<String> expected = new ArrayList<>();
+		try (Journal journal = Journal.open(file, REGION_SIZE, null)) {
+			for (int i = 0; i < 20; i++) {
+				String value = "record " + i;
+				journal.append((byte) (i % 3), buffer -> Journal.putString(buffer, value));
+				expected.add(i % 3 + ":" + value);
+			}
+		}
+		assertEquals(expected, readAll(file));
+
+		try (Journal journal = Journal.open(file, REGION_SIZE, null)) {
+			assertEquals(20, journal.getRecordCount());
+			journal.append((byte) 7, buffer -> Journal.putString(buffer, "appended"));
+		}
+		expected.add("7:appended");
+		assertEquals(expected, readAll(file));
+	}
+
+	@Test
+	void testTornRecordIsDiscarded(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("test.journal");
+		try (Journal journal = Journal.open(file, REGION_SIZE, null)) {
+			journal.append((byte) 1, buffer -> Journal.putString(buffer, "complete"));
+		}
+		// A record whose payload reached the file but whose length did not
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {1, 0, 0, 0, 5}), 8 + 4 + 13 + 4);
+		}
+
+		assertEquals(List.of("1:complete"), readAll(file));
+	}
+
+	@Test
+	void testRejectsRecordLargerThanRegion(@TempDir Path directory) throws IOException {
+		try (Journal journal = Journal.open(directory.resolve("test.journal"), REGION_SIZE, null)) {
+			assertThrows(IllegalArgumentException.class,
+					() -> journal.append((byte) 1, buffer -> Journal.putString(buffer, "x".repeat(REGION_SIZE))));
+		}
+	}
+
+	@Test
+	void testRejectsOtherFiles(@TempDir Path directory) throws IOException {
+		Path file = directory.resolve("other.bin");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+		}
+		assertThrows(IOException.class, () -> Journal.open(file));
+	}
+}
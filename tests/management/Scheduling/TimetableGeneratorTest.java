@@ -0,0 +1,87 @@
+package tests.management.Scheduling;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Instructor;
+import gym.management.Scheduling.SessionSlot;
+import gym.management.Scheduling.Timetable;
+import gym.management.Scheduling.TimetableGenerator;
+import gym.management.Secretary;
+import gym.management.Sessions.ForumType;
+import gym.management.Sessions.Session;
+import gym.management.Sessions.SessionType;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+class TimetableGeneratorTest {
+	private Gym gym;
+	private Secretary secretary;
+	private Instructor cheap;
+	private Instructor expensive;
+	private Instructor boxer;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		gym = new Gym();
+		gym.setSecretary(new Person("Secretary", 0, Gender.Female, "01-01-1990"), 3000);
+		secretary = gym.getSecretary();
+		cheap = secretary.hireInstructor(new Person("Cheap", 0, Gender.Male, "01-01-1985"), 40,
+				List.of(SessionType.Pilates, SessionType.Ninja));
+		expensive = secretary.hireInstructor(new Person("Expensive", 0, Gender.Female, "01-01-1985"), 90,
+				List.of(SessionType.Pilates, SessionType.ThaiBoxing));
+		boxer = secretary.hireInstructor(new Person("Boxer", 0, Gender.Male, "01-01-1985"), 60,
+				List.of(SessionType.ThaiBoxing));
+	}
+
+	@Test
+	void testAssignsCheapestFreeQualifiedInstructor() {
+		Timetable timetable = new TimetableGenerator(gym).generate(List.of(
+				new SessionSlot(SessionType.Pilates, "03-03-2025 10:00", ForumType.All),
+				new SessionSlot(SessionType.Pilates, "03-03-2025 10:30", ForumType.Female),
+				new SessionSlot(SessionType.Pilates, "03-03-2025 11:00", ForumType.All),
+				new SessionSlot(SessionType.Pilates, "03-03-2025 10:15", ForumType.Male),
+				new SessionSlot(SessionType.ThaiBoxing, "03-03-2025 10:00", ForumType.All)));
+
+		List<Timetable.Assignment> assignments = timetable.getAssignments();
+		assertEquals(4, assignments.size());
+		assertEquals("03-03-2025 10:00", assignments.get(0).getSlot().getDateTime());
+		assertSame(cheap, assignments.get(0).getInstructor());
+		assertEquals("03-03-2025 11:00", assignments.get(1).getSlot().getDateTime());
+		assertSame(cheap, assignments.get(1).getInstructor());
+		assertEquals("03-03-2025 10:15", assignments.get(2).getSlot().getDateTime());
+		assertSame(expensive, assignments.get(2).getInstructor());
+		assertSame(boxer, assignments.get(3).getInstructor());
+		// Both Pilates instructors are busy at 10:30
+		assertEquals(1, timetable.getUnfilled().size());
+		assertEquals("03-03-2025 10:30", timetable.getUnfilled().get(0).getDateTime());
+		assertEquals(40 + 40 + 90 + 60, timetable.getTotalCost());
+	}
+
+	@Test
+	void testFillsScarceTypesFirst() {
+		// Only the cheap instructor can teach Ninja, so the Pilates slot goes to the expensive one
+		Timetable timetable = new TimetableGenerator(gym).generate(List.of(
+				new SessionSlot(SessionType.Pilates, "03-03-2025 10:00", ForumType.All),
+				new SessionSlot(SessionType.Ninja, "03-03-2025 10:00", ForumType.All)));
+
+		assertTrue(timetable.isComplete());
+		assertSame(expensive, timetable.getAssignments().get(0).getInstructor());
+		assertSame(cheap, timetable.getAssignments().get(1).getInstructor());
+	}
+
+	@Test
+	void testRespectsExistingSessions() throws Exception {
+		secretary.addSession(SessionType.Pilates, "03-03-2025 09:30", ForumType.All, cheap);
+
+		Timetable timetable = new TimetableGenerator(gym).generate(List.of(
+				new SessionSlot(SessionType.Pilates, "03-03-2025 10:00", ForumType.All)));
+		List<Session> created = secretary.addSessions(timetable);
+
+		assertEquals(1, created.size());
+		assertSame(expensive, created.get(0).getInstructor());
+		assertEquals(2, gym.getSessions().size());
+		assertTrue(gym.findScheduleConflicts().isEmpty());
+	}
+}
@@ -4,9 +4,11 @@ import gym.customers.*;
 import gym.Exception.*;
 import gym.management.*;
 import gym.management.Sessions.*;
+import gym.management.Strategy.PayrollSummary;
 import gym.notification.NotificationObserver;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -35,6 +37,14 @@ class SecretaryTest {
 				secretary.registerClient(clientPerson));
 	}
 
+	@Test
+	void testClientLookupIgnoresBalance() throws InvalidAgeException, DuplicateClientException {
+		Client client = secretary.registerClient(clientPerson);
+		client.withdraw(500);
+		assertTrue(gym.containsClient(client));
+		assertSame(client, gym.findClient(client.getId()));
+	}
+
 	@Test
 	void testRegisterUnderageClient() {
 		Person underagePerson = new Person("Minor", 100.0, Gender.Male, "01-01-2010");
@@ -42,6 +52,21 @@ class SecretaryTest {
 				secretary.registerClient(underagePerson));
 	}
 
+	@Test
+	void testRegisterClientsInBulk() throws InvalidAgeException, DuplicateClientException {
+		Client existing = secretary.registerClient(clientPerson);
+		Person newcomer = new Person("Newcomer", 500.0, Gender.Female, "01-01-1995");
+		Person minor = new Person("Minor", 100.0, Gender.Male, "01-01-2010");
+
+		ClientImportReport report = secretary.registerClients(List.of(newcomer, clientPerson, minor, newcomer));
+
+		assertEquals(List.of(ClientImportReport.Outcome.Registered, ClientImportReport.Outcome.Duplicate,
+				ClientImportReport.Outcome.Underage, ClientImportReport.Outcome.Duplicate), report.getOutcomes());
+		assertEquals(1, report.getRegisteredClients().size());
+		assertTrue(gym.containsClient(report.getRegisteredClients().get(0)));
+		assertTrue(gym.containsClient(existing));
+	}
+
 	@Test
 	void testUnregisterClient() throws InvalidAgeException, DuplicateClientException, ClientNotRegisteredException {
 		Client client = secretary.registerClient(clientPerson);
@@ -66,6 +91,19 @@ class SecretaryTest {
 		assertTrue(gym.getSessions().contains(session));
 	}
 
+	@Test
+	void testSessionCalendarQueries() throws InstructorNotQualifiedException, InvalidAgeException, DuplicateClientException {
+		Instructor instructor = secretary.hireInstructor(instructorPerson, 50,
+				List.of(SessionType.Pilates));
+		Session first = secretary.addSession(SessionType.Pilates, "02-03-2025 10:00", ForumType.All, instructor);
+		Session second = secretary.addSession(SessionType.Pilates, "04-03-2025 10:00", ForumType.All, instructor);
+
+		assertTrue(gym.getSessionsOn(LocalDate.of(2025, 3, 2)).contains(first));
+		assertFalse(gym.getSessionsOn(LocalDate.of(2025, 3, 2)).contains(second));
+		assertEquals(List.of(first, second),
+				gym.getSessionsBetween(instructor, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)));
+	}
+
 	@Test
 	void testRegisterClientToLesson() throws Exception {
 		Client client = secretary.registerClient(clientPerson);
@@ -86,6 +124,127 @@ class SecretaryTest {
 		assertEquals("Test message", observer.getLastMessage());
 	}
 
+	// Tests that add sessions or pay salaries use a gym of their own, apart from the shared singleton
+	@Nested
+	class IsolatedGym {
+		private Gym isolatedGym;
+		private Secretary isolatedSecretary;
+
+		@BeforeEach
+		void setUpIsolatedGym() {
+			isolatedGym = new Gym();
+			isolatedGym.setSecretary(person, 3000);
+			isolatedSecretary = isolatedGym.getSecretary();
+		}
+
+		private Instructor hireInstructor(SessionType... qualifications) throws InvalidAgeException, DuplicateClientException {
+			return isolatedSecretary.hireInstructor(instructorPerson, 50, List.of(qualifications));
+		}
+
+		@Test
+		void testRejectsDuplicateSession() throws Exception {
+			Instructor instructor = hireInstructor(SessionType.Pilates);
+			Session session = isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 10:00", ForumType.All, instructor);
+
+			assertNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 10:00", ForumType.All, instructor));
+			assertEquals(List.of(session), isolatedGym.getSessions());
+			assertEquals(1, instructor.getSessionCount());
+			assertNotNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 12:00", ForumType.All, instructor));
+		}
+
+		@Test
+		void testRejectedSessionObjectIsNotPaid() throws Exception {
+			Instructor instructor = hireInstructor(SessionType.Pilates);
+			Session session = new PilatesSession("31-12-2024 10:00", ForumType.All, instructor);
+			assertTrue(isolatedSecretary.addSession(session));
+			assertFalse(isolatedSecretary.addSession(session));
+
+			assertFalse(isolatedSecretary.addSession(new PilatesSession("31-12-2024 10:00", ForumType.All, instructor)));
+			assertFalse(isolatedSecretary.addSession(new PilatesSession("31-12-2024 10:30", ForumType.Male, instructor)));
+
+			assertEquals(List.of(session), isolatedGym.getSessions());
+			assertEquals(1, instructor.getSessionCount());
+			assertEquals(1, instructor.getPayAccrual().getUnpaidSessions());
+		}
+
+		@Test
+		void testRejectsOverlappingSession() throws Exception {
+			Instructor instructor = hireInstructor(SessionType.Pilates, SessionType.ThaiBoxing);
+			Instructor other = isolatedSecretary.hireInstructor(new Person("Other", 100.0, Gender.Male, "01-01-1980"), 50,
+					List.of(SessionType.Pilates));
+			Session boxing = isolatedSecretary.addSession(SessionType.ThaiBoxing, "31-12-2024 10:00", ForumType.All, instructor);
+
+			assertNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 11:00", ForumType.Male, instructor));
+			assertNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 09:30", ForumType.All, instructor));
+			assertSame(boxing, isolatedGym.findOverlappingSession(instructor, boxing.getStartTime(), SessionType.Pilates));
+			assertEquals(1, instructor.getSessionCount());
+
+			// Back-to-back sessions and other instructors' sessions do not overlap
+			assertNotNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 11:30", ForumType.All, instructor));
+			assertNotNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 09:00", ForumType.All, instructor));
+			assertNotNull(isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 10:00", ForumType.All, other));
+			assertTrue(isolatedGym.findScheduleConflicts().isEmpty());
+		}
+
+		@Test
+		void testCancellationPromotesFromWaitlist() throws Exception {
+			Instructor instructor = hireInstructor(SessionType.Ninja);
+			Session session = isolatedSecretary.addSession(SessionType.Ninja, "31-12-2024 10:00", ForumType.All, instructor);
+			Client[] clients = new Client[SessionType.Ninja.getCapacity() + 2];
+			for (int i = 0; i < clients.length; i++) {
+				clients[i] = isolatedSecretary.registerClient(new Person("Client" + i, 1000.0, Gender.Male, "01-01-1990"));
+				isolatedSecretary.registerClientToLesson(clients[i], session);
+			}
+			Client first = clients[clients.length - 2];
+			Client second = clients[clients.length - 1];
+
+			assertFalse(session.hasClient(first));
+			assertEquals(2, session.getWaitlist().size());
+			assertEquals(1000, first.getBalance());
+			assertEquals(1, first.getNotifications().size());
+
+			assertTrue(isolatedSecretary.cancelRegistration(clients[0], session));
+			assertFalse(session.hasClient(clients[0]));
+			assertEquals(1000, clients[0].getBalance());
+			assertTrue(session.hasClient(first));
+			assertEquals(850, first.getBalance());
+			assertEquals(2, first.getNotifications().size());
+			assertTrue(session.isFull());
+
+			// Leaving the waitlist does not free a seat
+			assertTrue(isolatedSecretary.cancelRegistration(second, session));
+			assertEquals(0, session.getWaitlist().size());
+			assertFalse(isolatedSecretary.cancelRegistration(second, session));
+
+			// A waiting client who books a seat directly leaves the waitlist, so cancelling frees the seat
+			isolatedSecretary.registerClientToLesson(second, session);
+			assertTrue(session.getWaitlist().contains(second));
+			isolatedGym.releaseSeatAndRefund(clients[1], session);
+			isolatedSecretary.registerClientToLesson(second, session);
+			assertTrue(session.hasClient(second));
+			assertFalse(session.getWaitlist().contains(second));
+			assertTrue(isolatedSecretary.cancelRegistration(second, session));
+			assertFalse(session.hasClient(second));
+		}
+
+		@Test
+		void testPaySalariesSummary() throws Exception {
+			Instructor instructor = hireInstructor(SessionType.Pilates);
+			isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 10:00", ForumType.All, instructor);
+			isolatedSecretary.addSession(SessionType.Pilates, "31-12-2024 12:00", ForumType.All, instructor);
+
+			PayrollSummary summary = isolatedSecretary.paySalaries();
+
+			assertTrue(summary.isPaid());
+			assertFalse(summary.isCovered());
+			assertEquals(2, summary.getEmployeeCount());
+			assertEquals(3100, summary.getTotal());
+			assertEquals(1600, instructor.getBalance());
+			assertEquals(4000, isolatedSecretary.getBalance());
+			assertTrue(isolatedGym.toString().contains("Gym Balance: -3100"));
+		}
+	}
+
 	private static class TestObserver implements NotificationObserver {
 		private String lastMessage;
 
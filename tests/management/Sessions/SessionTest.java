@@ -80,4 +80,61 @@ public class SessionTest {
 		Client maleClient = new Client(malePerson);
 		assertFalse(ForumValidator.clientMatchesGender(maleSession, maleClient));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testWaitlistIsBoundedAndFirstComeFirstServed() {
+		SessionWaitlist waitlist = new SessionWaitlist(2);
+		Client second = new Client(new Person("Second", 100.0, Gender.Male, "01-01-1990"));
+		Client third = new Client(new Person("Third", 100.0, Gender.Male, "01-01-1990"));
+
+		assertTrue(waitlist.offer(client));
+		assertFalse(waitlist.offer(client));
+		assertTrue(waitlist.offer(second));
+		assertFalse(waitlist.offer(third));
+
+		// A client who leaves and joins again goes to the back
+		assertTrue(waitlist.remove(client));
+		assertTrue(waitlist.offer(client));
+		assertEquals(2, waitlist.size());
+		assertSame(second, waitlist.poll());
+		assertTrue(waitlist.restore(second));
+		assertSame(second, waitlist.poll());
+		assertSame(client, waitlist.poll());
+		assertNull(waitlist.poll());
+		assertEquals(0, waitlist.size());
+
+		// Repeatedly leaving and joining keeps a single place
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(waitlist.offer(third));
+			assertTrue(waitlist.remove(third));
+		}
+		assertTrue(waitlist.offer(third));
+		assertSame(third, waitlist.poll());
+		assertNull(waitlist.poll());
+	}
+
+	@Test
+	void testWaitlistNeverExceedsCapacityUnderContention() throws InterruptedException {
+		SessionWaitlist waitlist = session.getWaitlist();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			int thread = t;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 50; i++) {
+					waitlist.offer(new Client(new Person("Waiting" + thread + "-" + i, 100.0, Gender.Male, "01-01-1990")));
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(SessionType.Pilates.getCapacity(), waitlist.size());
+		int polled = 0;
+		while (waitlist.poll() != null) {
+			polled++;
+		}
+		assertEquals(SessionType.Pilates.getCapacity(), polled);
+	}
+}
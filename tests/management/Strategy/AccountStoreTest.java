@@ -0,0 +1,35 @@
+package tests.management.Strategy;
+
+import gym.management.Strategy.AccountStore;
+import gym.management.Strategy.MapAccountStore;
+import gym.management.Strategy.PrimitiveAccountStore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountStoreTest {
+
+	private void checkStore(AccountStore store) {
+		for (int id = 1000; id < 6000; id++) {
+			store.put(id, id * 100L);
+		}
+		store.put(1500, -42);
+
+		assertEquals(5000, store.size());
+		assertEquals(-42, store.get(1500));
+		assertEquals(599_900, store.get(5999));
+		assertTrue(store.contains(1000));
+		assertFalse(store.contains(6000));
+		assertThrows(IllegalArgumentException.class, () -> store.get(6000));
+	}
+
+	@Test
+	void testPrimitiveStoreGrowsPastInitialCapacity() {
+		checkStore(new PrimitiveAccountStore(4));
+	}
+
+	@Test
+	void testMapStore() {
+		checkStore(new MapAccountStore());
+	}
+}
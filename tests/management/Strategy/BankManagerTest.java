@@ -0,0 +1,105 @@
+package tests.management.Strategy;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Strategy.BankManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BankManagerTest {
+	private BankManager bankManager;
+	private Person payer;
+	private Person payee;
+
+	@BeforeEach
+	void setUp() {
+		bankManager = BankManager.getInstance();
+		payer = new Person("Payer", 1000.0, Gender.Male, "01-01-1990");
+		payee = new Person("Payee", 0.0, Gender.Female, "01-01-1990");
+	}
+
+	@Test
+	void testTransfer() {
+		assertTrue(bankManager.transfer(payer.getId(), payee.getId(), 400));
+		assertEquals(600, payer.getBalance());
+		assertEquals(400, payee.getBalance());
+
+		assertFalse(bankManager.transfer(payer.getId(), payee.getId(), 601));
+		assertEquals(600, payer.getBalance());
+	}
+
+	@Test
+	void testTransferWithOverdraft() {
+		bankManager.transferWithOverdraft(payee.getId(), payer.getId(), 100);
+		assertEquals(-100, payee.getBalance());
+		assertEquals(1100, payer.getBalance());
+	}
+
+	@Test
+	void testTransferBatchIsAllOrNothing() {
+		Person secondPayee = new Person("Second Payee", 0.0, Gender.Male, "01-01-1990");
+		int[] payeeIds = {payee.getId(), secondPayee.getId()};
+
+		assertEquals(100_000, bankManager.transferBatch(payer.getId(), payeeIds, new long[]{60_000, 50_000}, 2, false));
+		assertEquals(1000, payer.getBalance());
+		assertEquals(0, payee.getBalance());
+		assertEquals(0, secondPayee.getBalance());
+
+		bankManager.transferBatch(payer.getId(), payeeIds, new long[]{60_000, 50_000}, 2, true);
+		assertEquals(-100, payer.getBalance());
+		assertEquals(600, payee.getBalance());
+		assertEquals(500, secondPayee.getBalance());
+	}
+
+	@Test
+	void testTransferBatchWithUnknownPayeePostsNothing() {
+		Person secondPayee = new Person("Second Payee", 0.0, Gender.Male, "01-01-1990");
+		int[] payeeIds = {payee.getId(), Integer.MAX_VALUE - 1, secondPayee.getId()};
+
+		assertThrows(IllegalArgumentException.class, () ->
+				bankManager.transferBatch(payer.getId(), payeeIds, new long[]{10_000, 10_000, 10_000}, 3, true));
+		assertEquals(1000, payer.getBalance());
+		assertEquals(0, payee.getBalance());
+		assertEquals(0, secondPayee.getBalance());
+	}
+
+	@Test
+	void testExactArithmetic() {
+		for (int i = 0; i < 10; i++) {
+			bankManager.deposit(payee.getId(), 0.1);
+		}
+		assertEquals(1.0, payee.getBalance());
+		assertTrue(bankManager.isValidPayment(payee.getId(), 1.0));
+	}
+
+	@Test
+	void testConcurrentTransfersNeverOverspend() throws InterruptedException {
+		AtomicInteger successfulTransfers = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 500; j++) {
+					if (bankManager.transfer(payer.getId(), payee.getId(), 1)) {
+						successfulTransfers.incrementAndGet();
+					}
+					bankManager.deposit(payee.getId(), 0);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(1000, successfulTransfers.get());
+		assertEquals(0, payer.getBalance());
+		assertEquals(1000, payee.getBalance());
+	}
+}
@@ -0,0 +1,88 @@
+package tests.management.Strategy.Validation;
+
+import gym.management.Strategy.Validation.CompiledValidator;
+import gym.management.Strategy.Validation.ValidationMode;
+import gym.management.Strategy.Validation.ValidationResult;
+import gym.management.Strategy.Validation.ValidationRuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledValidatorTest {
+
+	@Test
+	void testCollectAllReportsFailuresInDeclarationOrder() {
+		List<String> evaluated = new ArrayList<>();
+		ValidationRuleSet<Integer> rules = new ValidationRuleSet<>();
+		rules.addRule(n -> evaluated.add("positive") && n > 0, "Not positive", 5);
+		rules.addRule(n -> evaluated.add("even") && n % 2 == 0, "Not even", 1);
+		rules.addRule(n -> evaluated.add("large") && n > -100, "Too small", 3);
+		CompiledValidator<Integer> validator = rules.compile(ValidationMode.CollectAll);
+
+		ValidationResult result = validator.validate(-101);
+
+		assertEquals(List.of("even", "large", "positive"), evaluated); // Cheapest first
+		assertFalse(result.isValid());
+		assertEquals(List.of("Not positive", "Not even", "Too small"), result.getFailureMessages());
+		assertEquals(0b111, result.getFailedRules());
+	}
+
+	@Test
+	void testFailFastStopsAtFirstFailure() {
+		List<String> evaluated = new ArrayList<>();
+		ValidationRuleSet<Integer> rules = new ValidationRuleSet<>();
+		rules.addRule(n -> evaluated.add("positive") && n > 0, "Not positive", 5);
+		rules.addRule(n -> evaluated.add("even") && n % 2 == 0, "Not even", 1);
+		CompiledValidator<Integer> validator = rules.compile(ValidationMode.FailFast);
+
+		ValidationResult result = validator.validate(-1);
+
+		assertEquals(List.of("even"), evaluated);
+		assertTrue(result.hasFailed(1));
+		assertFalse(result.hasFailed(0));
+		assertEquals(List.of("Not even"), result.getFailureMessages());
+	}
+
+	@Test
+	void testFailFastPrefersRulesThatFailOften() {
+		List<String> evaluated = new ArrayList<>();
+		ValidationRuleSet<Integer> rules = new ValidationRuleSet<>();
+		rules.addRule(n -> evaluated.add("rarely") && n >= 0, "Negative", 1);
+		rules.addRule(n -> evaluated.add("often") && n > 1000, "Too small", 1);
+		CompiledValidator<Integer> collectAll = rules.compile(ValidationMode.CollectAll);
+		for (int i = 0; i < 100; i++) {
+			collectAll.validate(i);
+		}
+		evaluated.clear();
+
+		rules.compile(ValidationMode.FailFast).validate(5);
+
+		assertEquals(List.of("often"), evaluated);
+	}
+
+	@Test
+	void testValidInputAndLegacyApiAgree() {
+		ValidationRuleSet<Integer> rules = new ValidationRuleSet<>();
+		rules.addRule(n -> n > 0, "Not positive");
+		rules.addRule(n -> n % 2 == 0, "Not even");
+		CompiledValidator<Integer> validator = rules.compile(ValidationMode.CollectAll);
+
+		assertTrue(validator.validate(4).isValid());
+		assertTrue(validator.validate(4).getFailureMessages().isEmpty());
+		assertFalse(rules.validateAll(-3));
+		assertEquals(rules.getFailureMessages(), validator.validate(-3).getFailureMessages());
+	}
+
+	@Test
+	void testRuleLimit() {
+		ValidationRuleSet<Integer> rules = new ValidationRuleSet<>();
+		for (int i = 0; i < ValidationRuleSet.MAX_RULES; i++) {
+			rules.addRule(n -> true, "Rule " + i);
+		}
+		assertThrows(IllegalStateException.class, () -> rules.addRule(n -> true, "One too many"));
+		assertThrows(IllegalArgumentException.class, () -> new ValidationRuleSet<Integer>().addRule(n -> true, "Free", 0));
+	}
+}
@@ -0,0 +1,49 @@
+package tests.management.Strategy.Validation;
+
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Sessions.ForumType;
+import gym.management.Strategy.DateUtils;
+import gym.management.Strategy.Validation.AgeBracket;
+import gym.management.Strategy.Validation.EligibilityCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EligibilityCacheTest {
+	private final EligibilityCache cache = EligibilityCache.getInstance();
+
+	@Test
+	void testForumCompatibility() {
+		Person man = new Person("Man", 0, Gender.Male, "01-01-1990");
+		Person senior = new Person("Senior", 0, Gender.Female, "01-01-1950");
+
+		assertTrue(cache.isEligible(man, ForumType.Male));
+		assertFalse(cache.isEligible(man, ForumType.Female));
+		assertFalse(cache.isEligible(man, ForumType.Seniors));
+		assertTrue(cache.isEligible(man, ForumType.All));
+		assertEquals(AgeBracket.Adult, cache.getAgeBracket(man));
+
+		assertFalse(cache.isEligible(senior, ForumType.Male));
+		assertTrue(cache.isEligible(senior, ForumType.Female));
+		assertTrue(cache.isEligible(senior, ForumType.Seniors));
+		assertEquals(AgeBracket.Senior, cache.getAgeBracket(senior));
+	}
+
+	@Test
+	void testReferenceDateChangeInvalidatesEntries() {
+		Person person = new Person("Teen", 0, Gender.Female, "01-06-2007");
+		LocalDate originalDate = DateUtils.getAgeReferenceDate();
+		assertEquals(AgeBracket.Minor, cache.getAgeBracket(person));
+		try {
+			DateUtils.setAgeReferenceDate(LocalDate.of(2026, 1, 1));
+			assertEquals(AgeBracket.Adult, cache.getAgeBracket(person));
+			assertEquals(1, cache.size());
+		} finally {
+			DateUtils.setAgeReferenceDate(originalDate);
+		}
+		assertEquals(AgeBracket.Minor, cache.getAgeBracket(person));
+	}
+}
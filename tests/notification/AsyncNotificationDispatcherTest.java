@@ -0,0 +1,148 @@
+package tests.notification;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Secretary;
+import gym.notification.AsyncNotificationDispatcher;
+import gym.notification.DeliveryMetrics;
+import gym.notification.NotificationObserver;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncNotificationDispatcherTest {
+
+	private static class RecordingObserver implements NotificationObserver {
+		private final List<String> messages = new ArrayList<>();
+		private volatile Thread deliveringThread;
+
+		@Override
+		public void update(String message) {
+			deliveringThread = Thread.currentThread();
+			messages.add(message);
+		}
+	}
+
+	@Test
+	void testDeliversInOrderPerObserver() {
+		List<RecordingObserver> observers = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			observers.add(new RecordingObserver());
+		}
+		List<String> expected = new ArrayList<>();
+
+		// A tiny queue makes the dispatching thread block on the workers over and over
+		try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(4, 2, 8)) {
+			for (int i = 0; i < 500; i++) {
+				dispatcher.dispatch(i % 2 == 0 ? observers : observers.subList(0, 50), "Message " + i);
+				if (i % 2 == 0) {
+					expected.add("Message " + i);
+				}
+			}
+			dispatcher.flush();
+
+			assertEquals(expected, observers.get(99).messages);
+			assertEquals(500, observers.get(0).messages.size());
+			for (int i = 0; i < 500; i++) {
+				assertEquals("Message " + i, observers.get(0).messages.get(i));
+			}
+			assertNotSame(Thread.currentThread(), observers.get(0).deliveringThread);
+
+			DeliveryMetrics metrics = dispatcher.getMetrics();
+			assertEquals(250 * 100 + 250 * 50, metrics.getDeliveries());
+			assertTrue(metrics.getBatches() > 0);
+			assertTrue(metrics.getMaxLatencyNanos() >= metrics.getMeanLatencyNanos());
+			assertTrue(metrics.getLatencyPercentileNanos(99) > 0);
+		}
+	}
+
+	@Test
+	void testFailingObserverDoesNotStopDelivery() {
+		NotificationObserver failing = message -> {
+			throw new IllegalStateException("Inbox unavailable");
+		};
+		RecordingObserver healthy = new RecordingObserver();
+		try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(1, 4)) {
+			dispatcher.dispatch(List.of(failing, healthy), "Hello");
+			dispatcher.flush();
+
+			assertEquals(List.of("Hello"), healthy.messages);
+			assertEquals(1, dispatcher.getMetrics().getFailures());
+			assertEquals(1, dispatcher.getMetrics().getDeliveries());
+		}
+	}
+
+	@Test
+	void testRecipientsGrowingDuringDispatch() {
+		List<RecordingObserver> observers = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			observers.add(new RecordingObserver());
+		}
+		// Reports fewer recipients than it iterates, like a live view gaining clients mid-dispatch
+		Collection<NotificationObserver> growing = new AbstractCollection<>() {
+			@Override
+			public Iterator<NotificationObserver> iterator() {
+				return new ArrayList<NotificationObserver>(observers).iterator();
+			}
+
+			@Override
+			public int size() {
+				return 1;
+			}
+		};
+
+		try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(1, 4)) {
+			dispatcher.dispatch(growing, "Hello");
+			dispatcher.flush();
+
+			for (RecordingObserver observer : observers) {
+				assertEquals(List.of("Hello"), observer.messages);
+			}
+		}
+	}
+
+	@Test
+	void testCloseDeliversQueuedMessagesAndRejectsNewOnes() {
+		RecordingObserver observer = new RecordingObserver();
+		AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(2, 2, 1);
+		for (int i = 0; i < 100; i++) {
+			dispatcher.dispatch(List.of(observer), "Message " + i);
+		}
+		dispatcher.close();
+
+		assertEquals(100, observer.messages.size());
+		assertTimeoutPreemptively(Duration.ofSeconds(5), dispatcher::flush);
+		assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(List.of(observer), "Too late"));
+		dispatcher.close();
+	}
+
+	@Test
+	void testSecretaryNotificationsThroughWorkers() throws Exception {
+		Gym gym = new Gym();
+		gym.setNotificationDispatcher(new AsyncNotificationDispatcher(2, 16));
+		gym.setSecretary(new Person("Sam Secretary", 1500, Gender.Male, "01-01-1988"), 5000);
+		Secretary secretary = gym.getSecretary();
+		List<Client> clients = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			clients.add(secretary.registerClient(new Person("Client" + i, 100, Gender.Female, "01-01-1990")));
+		}
+
+		secretary.notify("Happy New Year");
+		secretary.notify("The gym is closed tomorrow");
+		gym.getNotificationDispatcher().flush();
+
+		for (Client client : clients) {
+			assertEquals(List.of("Happy New Year", "The gym is closed tomorrow"), client.getNotifications());
+		}
+		gym.getNotificationDispatcher().close();
+	}
+}
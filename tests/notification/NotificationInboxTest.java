@@ -0,0 +1,133 @@
+package tests.notification;
+
+import gym.customers.Client;
+import gym.customers.Gender;
+import gym.customers.Person;
+import gym.management.Gym;
+import gym.management.Secretary;
+import gym.notification.MessageStore;
+import gym.notification.Notification;
+import gym.notification.NotificationInbox;
+import gym.notification.NotificationObserver;
+import gym.notification.SynchronousNotificationDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationInboxTest {
+
+	@Test
+	void testBroadcastIsStoredOnce() {
+		List<Notification> received = new ArrayList<>();
+		NotificationObserver observer = new NotificationObserver() {
+			@Override
+			public void update(String message) {
+				fail("Expected the shared message, not a copy of its text");
+			}
+
+			@Override
+			public void update(Notification notification) {
+				received.add(notification);
+			}
+		};
+		List<Client> clients = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			clients.add(new Client("Client" + i, 0, Gender.Male, "01-01-1990"));
+		}
+		List<NotificationObserver> recipients = new ArrayList<>(clients);
+		recipients.add(observer);
+		recipients.add(observer);
+
+		new SynchronousNotificationDispatcher().dispatch(recipients, "Happy New Year");
+
+		assertEquals(2, received.size());
+		assertSame(received.get(0), received.get(1));
+		for (Client client : clients) {
+			assertEquals(List.of("Happy New Year"), client.getNotifications());
+		}
+	}
+
+	@Test
+	void testCapacityEvictsOldestAndReleasesMessages() throws InterruptedException {
+		NotificationInbox inbox = new NotificationInbox(3, 0);
+		List<WeakReference<Notification>> sent = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Notification notification = MessageStore.getInstance().publish("Message " + i);
+			sent.add(new WeakReference<>(notification));
+			inbox.add(notification);
+		}
+
+		assertEquals(List.of("Message 7", "Message 8", "Message 9"), inbox.getMessages());
+		awaitCollected(sent.subList(0, 7));
+		assertNotNull(sent.get(9).get());
+	}
+
+	@Test
+	void testUnregisteringClientFreesItsMessages() throws Exception {
+		Gym gym = new Gym();
+		gym.setSecretary(new Person("Secretary", 0, Gender.Female, "01-01-1990"), 3000);
+		Secretary secretary = gym.getSecretary();
+		Client staying = secretary.registerClient(new Person("Staying", 0, Gender.Male, "01-01-1990"));
+		List<WeakReference<Notification>> leavingOnly = sendToLeavingClient(secretary);
+		secretary.notify("For everyone");
+
+		awaitCollected(leavingOnly);
+		assertEquals(List.of("For everyone"), staying.getNotifications());
+	}
+
+	// Registers a client, sends them messages no one else gets, and unregisters them
+	private static List<WeakReference<Notification>> sendToLeavingClient(Secretary secretary) throws Exception {
+		Client leaving = secretary.registerClient(new Person("Leaving", 0, Gender.Male, "01-01-1990"));
+		List<WeakReference<Notification>> sent = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Notification notification = MessageStore.getInstance().publish("Just for you " + i);
+			sent.add(new WeakReference<>(notification));
+			leaving.update(notification);
+		}
+		secretary.unregisterClient(leaving);
+		return sent;
+	}
+
+	private static void awaitCollected(List<WeakReference<Notification>> references) throws InterruptedException {
+		for (int attempt = 0; attempt < 50 && references.stream().anyMatch(reference -> reference.get() != null); attempt++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		for (WeakReference<Notification> reference : references) {
+			assertNull(reference.get());
+		}
+	}
+
+	@Test
+	void testReadCursorReturnsOnlyNewMessages() {
+		NotificationInbox inbox = new NotificationInbox(4, 0);
+		inbox.add("First");
+		inbox.add("Second");
+		assertEquals(2, inbox.getUnreadCount());
+		assertEquals(List.of("First", "Second"), inbox.readUnread());
+		assertEquals(List.of(), inbox.readUnread());
+
+		for (int i = 0; i < 6; i++) {
+			inbox.add("Later " + i);
+		}
+		// Two unread messages were evicted before they were read
+		assertEquals(4, inbox.getUnreadCount());
+		assertEquals(List.of("Later 2", "Later 3", "Later 4", "Later 5"), inbox.readUnread());
+		assertEquals(List.of("Later 2", "Later 3", "Later 4", "Later 5"), inbox.getMessages());
+	}
+
+	@Test
+	void testExpiredMessagesAreDropped() throws InterruptedException {
+		NotificationInbox inbox = new NotificationInbox(10, 50);
+		inbox.add("Old news");
+		Thread.sleep(100);
+		inbox.add(MessageStore.getInstance().publish("Fresh news"));
+
+		assertEquals(List.of("Fresh news"), inbox.getMessages());
+		assertEquals(1, inbox.size());
+	}
+}